@@ -0,0 +1,51 @@
+package com.ticketcheater.web.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-access-secret-key-with-enough-length";
+    private static final String REFRESH_KEY = "benchmark-refresh-secret-key-with-enough-length";
+
+    private JwtTokenVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        verifier = new JwtTokenVerifier(SECRET_KEY, REFRESH_KEY);
+
+        Claims claims = Jwts.claims();
+        claims.put("username", "username");
+        token = Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(JwtTokenVerifier.signingKey(SECRET_KEY), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public void staticProvider(Blackhole bh) {
+        String username = JwtTokenProvider.getUsername(token, SECRET_KEY);
+        bh.consume(JwtTokenProvider.validate(token, username, SECRET_KEY));
+    }
+
+    @Benchmark
+    public void singleParseVerifier(Blackhole bh) {
+        bh.consume(verifier.verifyAccessToken(token));
+    }
+
+}
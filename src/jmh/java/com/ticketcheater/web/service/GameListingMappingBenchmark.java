@@ -0,0 +1,70 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.controller.response.GameResponse;
+import com.ticketcheater.web.dto.GameDTO;
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.entity.Game;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-to-response mapping cost of a catalog page, run with {@code -prof gc} for allocation numbers.
+ * The entity path hydrates a {@link Game} plus the loaded-state snapshot Hibernate keeps for dirty checking,
+ * the projection path builds a {@link GameSummaryDTO} straight from the selected columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameListingMappingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(pageSize);
+        Timestamp now = Timestamp.from(Instant.now());
+        for (long id = 1; id <= pageSize; id++) {
+            rows.add(new Object[]{id, Category.BASEBALL, "title " + id, "home", "away", "place", now, now, now, null, 0L});
+        }
+    }
+
+    @Benchmark
+    public void entityThenDto(Blackhole bh) {
+        List<GameResponse> responses = new ArrayList<>(pageSize);
+        for (Object[] row : rows) {
+            Game game = Game.of((Category) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5], (Timestamp) row[6]);
+            game.setId((Long) row[0]);
+            game.setCreatedAt((Timestamp) row[7]);
+            game.setUpdatedAt((Timestamp) row[8]);
+            game.setRemovedAt((Timestamp) row[9]);
+            game.setVersion((Long) row[10]);
+            bh.consume(row.clone());
+            responses.add(GameResponse.from(GameDTO.from(game)));
+        }
+        bh.consume(responses);
+    }
+
+    @Benchmark
+    public void summaryProjection(Blackhole bh) {
+        List<GameResponse> responses = new ArrayList<>(pageSize);
+        for (Object[] row : rows) {
+            GameSummaryDTO summary = new GameSummaryDTO((Long) row[0], (Category) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5], (Timestamp) row[6], (Long) row[10]);
+            responses.add(GameResponse.from(summary));
+        }
+        bh.consume(responses);
+    }
+
+}
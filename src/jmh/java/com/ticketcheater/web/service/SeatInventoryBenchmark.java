@@ -0,0 +1,56 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.entity.SeatStatus;
+import com.ticketcheater.web.entity.Section;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hold and release attempts from many threads against one hot game, run with {@code -prof gc} to confirm reads do not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SeatInventoryBenchmark {
+
+    private static final long SECTION_ID = 1L;
+
+    @Param({"500"})
+    private int seatCount;
+
+    private SeatInventory inventory;
+
+    @Setup
+    public void setUp() {
+        Section section = Section.of("place", "A", seatCount);
+        section.setId(SECTION_ID);
+        inventory = new SeatInventory(1L, section.getPlace(), List.of(section));
+    }
+
+    @Benchmark
+    public boolean holdAndRelease() {
+        int seat = ThreadLocalRandom.current().nextInt(seatCount);
+        if (inventory.transition(SECTION_ID, seat, SeatStatus.FREE, SeatStatus.HELD)) {
+            return inventory.transition(SECTION_ID, seat, SeatStatus.HELD, SeatStatus.FREE);
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean isFree() {
+        return inventory.isFree(SECTION_ID, ThreadLocalRandom.current().nextInt(seatCount));
+    }
+
+    @Benchmark
+    public long freeCount() {
+        return inventory.freeCount(SECTION_ID);
+    }
+
+}
@@ -1,12 +1,20 @@
 package com.ticketcheater.web.config;
 
 import com.ticketcheater.web.exception.CustomAuthenticationEntryPoint;
+import com.ticketcheater.web.jwt.AccessTokenDenylist;
+import com.ticketcheater.web.jwt.AuthenticationCache;
 import com.ticketcheater.web.jwt.JwtTokenFilter;
+import com.ticketcheater.web.jwt.JwtTokenVerifier;
+import com.ticketcheater.web.repository.IdempotencyRepository;
+import com.ticketcheater.web.repository.TokenVersionRepository;
 import com.ticketcheater.web.service.UserService;
+import com.ticketcheater.web.service.WaitingRoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -20,9 +28,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class AuthenticationConfig {
 
     private final UserService userService;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final AuthenticationCache authenticationCache;
+    private final TokenVersionRepository tokenVersionRepository;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final WaitingRoomService waitingRoomService;
+    private final IdempotencyRepository idempotencyRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    @Qualifier(ExecutorConfig.IDEMPOTENCY_RENEWAL_SCHEDULER)
+    private final TaskScheduler idempotencyRenewalScheduler;
 
-    @Value("${jwt.secret_key}")
-    private String secretKey;
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -35,7 +52,16 @@ public class AuthenticationConfig {
                 )
                 .sessionManagement(c -> c.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling(c -> c.authenticationEntryPoint(new CustomAuthenticationEntryPoint()))
-                .addFilterBefore(new JwtTokenFilter(userService, secretKey), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenFilter(
+                        userService,
+                        jwtTokenVerifier,
+                        authenticationCache,
+                        tokenVersionRepository,
+                        accessTokenDenylist,
+                        waitingRoomService,
+                        stateless
+                ), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new IdempotencyFilter(idempotencyRepository, idempotencyProperties, idempotencyRenewalScheduler), JwtTokenFilter.class)
                 .build();
     }
 
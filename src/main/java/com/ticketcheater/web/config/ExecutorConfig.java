@@ -0,0 +1,54 @@
+package com.ticketcheater.web.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class ExecutorConfig {
+
+    public static final String USER_REFRESH_EXECUTOR = "userRefreshExecutor";
+    public static final String IDEMPOTENCY_RENEWAL_SCHEDULER = "idempotencyRenewalScheduler";
+
+    // Declaring any Executor bean turns off Boot's default one, which MVC async requests (the catalog export) run on.
+    @Primary
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = USER_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor userRefreshExecutor(@Value("${user-cache.refresh.pool-size:2}") int poolSize,
+                                                      @Value("${user-cache.refresh.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(30);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("user-refresh-");
+        return executor;
+    }
+
+    // Likewise any TaskScheduler bean turns off Boot's default one, which runs the @Scheduled jobs.
+    @Primary
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = IDEMPOTENCY_RENEWAL_SCHEDULER)
+    public ThreadPoolTaskScheduler idempotencyRenewalScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setThreadNamePrefix("idempotency-renewal-");
+        return scheduler;
+    }
+
+}
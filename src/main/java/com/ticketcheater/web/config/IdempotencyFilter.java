@@ -0,0 +1,291 @@
+package com.ticketcheater.web.config;
+
+import com.ticketcheater.web.controller.response.Response;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.repository.IdempotencyRepository;
+import com.ticketcheater.web.utils.HashUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Runs a POST carrying an {@code Idempotency-Key} at most once per user, method and path. The first response is
+ * stored with a hash of the request body and replayed for retries with the same body, while a different body is
+ * rejected with 422. A retry arriving while the first request is still running waits for it briefly and is rejected
+ * with 409 if it does not finish in time; the running request keeps renewing its in-flight marker until it does.
+ * Anonymous callers are scoped by address, and token-issuing endpoints are never stored.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> EXCLUDED_PATHS = Set.of("/users/login", "/users/reissue");
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final IdempotencyProperties properties;
+    private final TaskScheduler renewalScheduler;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_HEADER) == null
+                || EXCLUDED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, ErrorCode.INVALID_IDEMPOTENCY_KEY);
+            return;
+        }
+
+        String key = getScope(request) + ":" + request.getMethod() + ":" + request.getServletPath() + ":" + idempotencyKey;
+        String token = UUID.randomUUID().toString();
+        IdempotencyRepository.Claim claim;
+        try {
+            claim = awaitClaim(key, token);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store is unavailable, running {} without it {}", key, e.getMessage());
+            chain.doFilter(request, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, ErrorCode.IDEMPOTENCY_KEY_IN_FLIGHT);
+            return;
+        }
+
+        DigestingRequest digestingRequest = new DigestingRequest(request);
+        switch (claim.state()) {
+            case COMPLETED -> {
+                String requestHash = digestingRequest.finish();
+                if (claim.requestHash() != null && !claim.requestHash().equals(requestHash)) {
+                    log.warn("Request {} reused its key with a different body", key);
+                    writeError(response, ErrorCode.IDEMPOTENCY_KEY_MISMATCH);
+                    return;
+                }
+                replay(response, claim.response());
+            }
+            case IN_FLIGHT -> {
+                log.warn("Request {} is still in flight", key);
+                writeError(response, ErrorCode.IDEMPOTENCY_KEY_IN_FLIGHT);
+            }
+            case ACQUIRED -> execute(digestingRequest, response, chain, key, token);
+        }
+    }
+
+    private IdempotencyRepository.Claim awaitClaim(String key, String token) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+        IdempotencyRepository.Claim claim = idempotencyRepository.begin(key, token, properties.inFlightTtl());
+        while (claim.state() == IdempotencyRepository.State.IN_FLIGHT && System.nanoTime() < deadline) {
+            Thread.sleep(properties.pollInterval().toMillis());
+            claim = idempotencyRepository.begin(key, token, properties.inFlightTtl());
+        }
+        return claim;
+    }
+
+    private void execute(DigestingRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, String token) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        Duration renewInterval = properties.inFlightTtl().dividedBy(3);
+        ScheduledFuture<?> renewal = renewalScheduler.scheduleAtFixedRate(() -> renew(key, token),
+                Instant.now().plus(renewInterval), renewInterval);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (isReplayable(wrapper.getStatus())) {
+                completed = complete(key, token, request.finish(), wrapper);
+            }
+        } finally {
+            renewal.cancel(false);
+            if (!completed) {
+                release(key, token);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void renew(String key, String token) {
+        try {
+            idempotencyRepository.renew(key, token, properties.inFlightTtl());
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew {} {}", key, e.getMessage());
+        }
+    }
+
+    private boolean complete(String key, String token, String requestHash, ContentCachingResponseWrapper wrapper) {
+        try {
+            return idempotencyRepository.complete(key, token, requestHash, new IdempotencyRepository.StoredResponse(
+                    wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()
+            ), properties.ttl());
+        } catch (DataAccessException e) {
+            log.warn("Failed to store response of {} {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String key, String token) {
+        try {
+            idempotencyRepository.release(key, token);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release {} {}", key, e.getMessage());
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRepository.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (!stored.contentType().isEmpty()) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private boolean isReplayable(int status) {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value()
+                && status != HttpStatus.UNAUTHORIZED.value()
+                && status != HttpStatus.FORBIDDEN.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private String getScope(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private void writeError(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(errorCode.getStatus().value());
+        response.getWriter().write(Response.error(errorCode.name()).toStream());
+    }
+
+    /**
+     * Hashes the request body as the handler reads it. {@link #finish()} reads whatever the handler left over,
+     * so the hash always covers the whole body without buffering it.
+     */
+    private static class DigestingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest = HashUtils.sha256Digest();
+        private DigestingInputStream inputStream;
+        private BufferedReader reader;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new DigestingInputStream(super.getInputStream(), digest);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                        encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+            }
+            return reader;
+        }
+
+        String finish() throws IOException {
+            getInputStream().transferTo(OutputStream.nullOutputStream());
+            return HashUtils.encode(digest);
+        }
+
+    }
+
+    private static class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final MessageDigest digest;
+
+        DigestingInputStream(ServletInputStream delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = delegate.read();
+            if (read != -1) {
+                digest.update((byte) read);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                digest.update(buffer, offset, read);
+            }
+            return read;
+        }
+
+        // The handler may close its reader; the rest of the body is still needed for the digest.
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ticketcheater.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(boolean enabled, Duration ttl, Duration inFlightTtl,
+                                    Duration waitTimeout, Duration pollInterval) {
+
+    public IdempotencyProperties {
+        ttl = ttl == null ? Duration.ofHours(24) : ttl;
+        inFlightTtl = inFlightTtl == null ? Duration.ofSeconds(30) : inFlightTtl;
+        waitTimeout = waitTimeout == null ? Duration.ofSeconds(2) : waitTimeout;
+        pollInterval = pollInterval == null ? Duration.ofMillis(50) : pollInterval;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.ticketcheater.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(boolean enabled, Map<String, EndpointLimit> endpoints) {
+
+    public RateLimitProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    public record EndpointLimit(Limit ip, Limit username) {
+    }
+
+    public record Limit(int limit, Duration window) {
+    }
+
+}
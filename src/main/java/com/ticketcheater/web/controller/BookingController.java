@@ -0,0 +1,30 @@
+package com.ticketcheater.web.controller;
+
+import com.ticketcheater.web.controller.request.BookingRequest;
+import com.ticketcheater.web.controller.response.BookingResponse;
+import com.ticketcheater.web.controller.response.Response;
+import com.ticketcheater.web.service.BookingService;
+import com.ticketcheater.web.service.BookingWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping
+@RequiredArgsConstructor
+public class BookingController {
+
+    private final BookingService bookingService;
+    private final BookingWriter bookingWriter;
+
+    @PostMapping("/games/{gameId}/bookings")
+    public Response<BookingResponse> book(@PathVariable Long gameId, @RequestBody BookingRequest request, Authentication authentication) {
+        return Response.success(BookingResponse.from(bookingService.book(authentication.getName(), gameId, request.getSectionId(), request.getSeats())));
+    }
+
+    @PostMapping("/admin/games/{gameId}/bookings/replay")
+    public Response<Long> replay(@PathVariable Long gameId, @RequestParam(required = false) String from, Authentication authentication) {
+        return Response.success(bookingWriter.replay(authentication.getName(), gameId, from));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.ticketcheater.web.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketcheater.web.controller.response.GameResponse;
+import com.ticketcheater.web.controller.response.Response;
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
+import com.ticketcheater.web.utils.SingleFlight;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class GameCatalogResponseWriter {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final GameCatalogCacheRepository gameCatalogCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, SerializedPage> pages = new ConcurrentHashMap<>();
+    private final SingleFlight<String, SerializedPage> rebuilds = new SingleFlight<>();
+
+    public boolean isHot(Pageable pageable) {
+        return pageable.getPageNumber() == 0 && GameCatalogCacheRepository.isCacheable(pageable);
+    }
+
+    public boolean checkNotModified(String scope, Pageable pageable,
+                                    HttpServletRequest request, HttpServletResponse response) {
+        long version = gameCatalogCacheRepository.getVersion(scope);
+        boolean gzip = isHot(pageable) && acceptsGzip(request);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return new ServletWebRequest(request, response).checkNotModified(eTag(scope, version, pageable, gzip));
+    }
+
+    public ResponseEntity<byte[]> write(String scope, Supplier<Page<GameSummaryDTO>> loader, HttpServletRequest request) {
+        SerializedPage page = getPage(scope, loader);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(request)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
+    }
+
+    private SerializedPage getPage(String scope, Supplier<Page<GameSummaryDTO>> loader) {
+        long version = gameCatalogCacheRepository.getVersion(scope);
+        SerializedPage current = pages.get(scope);
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        return rebuilds.execute(scope, () -> {
+            SerializedPage rebuilt = serialize(version, loader.get());
+            pages.merge(scope, rebuilt, (old, it) -> old.version() > it.version() ? old : it);
+            log.info("Rebuild Serialized Catalog Page {}({})", scope, version);
+            return rebuilt;
+        });
+    }
+
+    private SerializedPage serialize(long version, Page<GameSummaryDTO> page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Response.success(page.map(GameResponse::from)));
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedPage(version, json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog page", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String eTag(String scope, long version, Pageable pageable, boolean gzip) {
+        return "\"" + scope + "-" + version + "-" + pageable.getPageNumber() + "-" + pageable.getPageSize()
+                + "-" + Integer.toHexString(pageable.getSort().hashCode()) + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private record SerializedPage(long version, byte[] json, byte[] gzip) {
+    }
+
+}
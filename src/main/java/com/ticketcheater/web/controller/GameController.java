@@ -1,23 +1,57 @@
 package com.ticketcheater.web.controller;
 
 import com.ticketcheater.web.controller.request.GameRequest;
+import com.ticketcheater.web.controller.request.GameUpdateRequest;
+import com.ticketcheater.web.controller.response.GameImportResponse;
 import com.ticketcheater.web.controller.response.GameResponse;
+import com.ticketcheater.web.controller.response.GameSliceResponse;
+import com.ticketcheater.web.controller.response.GameUpdateResponse;
 import com.ticketcheater.web.controller.response.Response;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
+import com.ticketcheater.web.service.GameExportService;
+import com.ticketcheater.web.service.GameImportService;
 import com.ticketcheater.web.service.GameService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping
 @RequiredArgsConstructor
 public class GameController {
 
+    static final int DEFAULT_PAGE_SIZE = GameCatalogCacheRepository.PAGE_SIZE;
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final GameService gameService;
+    private final GameImportService gameImportService;
+    private final GameExportService gameExportService;
+    private final GameCatalogResponseWriter gameCatalogResponseWriter;
+
+    @Value("${game-export.timeout:30m}")
+    private Duration exportTimeout;
 
     @PostMapping("/admin/open")
     public Response<Void> createGame(@RequestBody GameRequest request, Authentication authentication) {
@@ -25,17 +59,104 @@ public class GameController {
         return Response.success();
     }
 
+    @PostMapping(value = "/admin/import", consumes = {GameController.NDJSON_VALUE, "text/csv"})
+    public Response<GameImportResponse> importGames(HttpServletRequest servletRequest, Authentication authentication) throws IOException {
+        GameImportService.Format format = MediaType.parseMediaType(servletRequest.getContentType()).isCompatibleWith(MediaType.valueOf(NDJSON_VALUE))
+                ? GameImportService.Format.NDJSON
+                : GameImportService.Format.CSV;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(servletRequest.getInputStream(), StandardCharsets.UTF_8))) {
+            return Response.success(GameImportResponse.from(gameImportService.importGames(authentication.getName(), format, reader)));
+        }
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Long afterId,
+            HttpServletRequest servletRequest
+    ) {
+        if (category != null) {
+            Category.fromString(category);
+        }
+        // Only the export outlives the default async timeout, so it is raised for this request alone.
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(servletRequest).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(exportTimeout.toMillis());
+        }
+        StreamingResponseBody body = out -> gameExportService.exportGames(category, from, to, afterId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(NDJSON_VALUE))
+                .body(body);
+    }
+
     @GetMapping
-    public Response<Page<GameResponse>> getGames(@PageableDefault(size=5, sort="startedAt", direction = Sort.Direction.ASC) Pageable pageable) {
-        return Response.success(gameService.getGames(pageable).map(GameResponse::from));
+    public ResponseEntity<?> getGames(
+            @PageableDefault(size=DEFAULT_PAGE_SIZE, sort="startedAt", direction = Sort.Direction.ASC) Pageable pageable,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse
+    ) {
+        if (gameCatalogResponseWriter.checkNotModified(GameCatalogCacheRepository.ALL_SCOPE, pageable, servletRequest, servletResponse)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        if (gameCatalogResponseWriter.isHot(pageable)) {
+            return gameCatalogResponseWriter.write(GameCatalogCacheRepository.ALL_SCOPE, () -> gameService.getGames(pageable), servletRequest);
+        }
+        return ResponseEntity.ok(Response.success(gameService.getGames(pageable).map(GameResponse::from)));
+    }
+
+    @GetMapping("/scroll")
+    public Response<GameSliceResponse> getGameSlice(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return Response.success(GameSliceResponse.from(gameService.getGameSlice(cursor, size)));
+    }
+
+    @GetMapping("/upcoming")
+    public Response<List<GameResponse>> getUpcomingGames(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return Response.success(gameService.getUpcomingGames(category, from, to, size).stream().map(GameResponse::from).toList());
+    }
+
+    @GetMapping("/search")
+    public Response<List<GameResponse>> searchGames(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return Response.success(gameService.searchGames(query, page, size).stream().map(GameResponse::from).toList());
+    }
+
+    @GetMapping("/{category}/scroll")
+    public Response<GameSliceResponse> getGameSliceByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return Response.success(GameSliceResponse.from(gameService.getGameSliceByCategory(category, cursor, size)));
     }
 
     @GetMapping("/{category}")
-    public Response<Page<GameResponse>> getGamesByCategory(
+    public ResponseEntity<?> getGamesByCategory(
             @PathVariable String category,
-            @PageableDefault(size=5, sort="startedAt", direction = Sort.Direction.ASC) Pageable pageable
+            @PageableDefault(size=DEFAULT_PAGE_SIZE, sort="startedAt", direction = Sort.Direction.ASC) Pageable pageable,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse
     ) {
-        return Response.success(gameService.getGamesByCategory(category, pageable).map(GameResponse::from));
+        String scope = GameCatalogCacheRepository.scope(Category.fromString(category));
+        if (gameCatalogResponseWriter.checkNotModified(scope, pageable, servletRequest, servletResponse)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        if (gameCatalogResponseWriter.isHot(pageable)) {
+            return gameCatalogResponseWriter.write(scope, () -> gameService.getGamesByCategory(category, pageable), servletRequest);
+        }
+        return ResponseEntity.ok(Response.success(gameService.getGamesByCategory(category, pageable).map(GameResponse::from)));
     }
 
     @PutMapping("/admin/update/{gameId}")
@@ -48,4 +169,13 @@ public class GameController {
         return Response.success();
     }
 
+    @PatchMapping("/admin/update")
+    public Response<List<GameUpdateResponse>> updateGames(
+            @RequestBody List<GameUpdateRequest> requests,
+            Authentication authentication
+    ) {
+        return Response.success(gameService.updateGames(authentication.getName(), requests.stream().map(GameUpdateRequest::toDto).toList())
+                .stream().map(GameUpdateResponse::from).toList());
+    }
+
 }
@@ -0,0 +1,66 @@
+package com.ticketcheater.web.controller;
+
+import com.ticketcheater.web.controller.request.SeatHoldRequest;
+import com.ticketcheater.web.controller.request.SectionRequest;
+import com.ticketcheater.web.controller.response.Response;
+import com.ticketcheater.web.controller.response.SeatHoldResponse;
+import com.ticketcheater.web.controller.response.SectionAvailabilityResponse;
+import com.ticketcheater.web.controller.response.SectionResponse;
+import com.ticketcheater.web.service.SeatHoldService;
+import com.ticketcheater.web.service.SeatInventoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping
+@RequiredArgsConstructor
+public class SeatController {
+
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+
+    @PostMapping("/admin/sections")
+    public Response<SectionResponse> createSection(@RequestBody SectionRequest request, Authentication authentication) {
+        return Response.success(SectionResponse.from(seatInventoryService.createSection(
+                authentication.getName(),
+                request.getPlace(),
+                request.getName(),
+                request.getSeatCount()
+        )));
+    }
+
+    @PostMapping("/admin/games/{gameId}/seats/rebuild")
+    public Response<Void> rebuildSeats(@PathVariable Long gameId, Authentication authentication) {
+        seatInventoryService.rebuild(authentication.getName(), gameId);
+        return Response.success();
+    }
+
+    @GetMapping("/games/{gameId}/seats")
+    public Response<List<SectionAvailabilityResponse>> getAvailability(@PathVariable Long gameId) {
+        return Response.success(seatInventoryService.getAvailability(gameId).stream().map(SectionAvailabilityResponse::from).toList());
+    }
+
+    @GetMapping("/games/{gameId}/seats/{sectionId}/{seat}")
+    public Response<String> getSeatStatus(@PathVariable Long gameId, @PathVariable Long sectionId, @PathVariable int seat) {
+        return Response.success(seatInventoryService.getStatus(gameId, sectionId, seat).name());
+    }
+
+    @PostMapping("/games/{gameId}/holds")
+    public Response<SeatHoldResponse> holdSeats(@PathVariable Long gameId, @RequestBody SeatHoldRequest request, Authentication authentication) {
+        return Response.success(SeatHoldResponse.from(seatHoldService.hold(authentication.getName(), gameId, request.getSectionId(), request.getSeats())));
+    }
+
+    @PutMapping("/games/{gameId}/holds")
+    public Response<SeatHoldResponse> extendHold(@PathVariable Long gameId, @RequestBody SeatHoldRequest request, Authentication authentication) {
+        return Response.success(SeatHoldResponse.from(seatHoldService.extend(authentication.getName(), gameId, request.getSectionId(), request.getSeats())));
+    }
+
+    @PostMapping("/games/{gameId}/holds/release")
+    public Response<Integer> releaseHold(@PathVariable Long gameId, @RequestBody SeatHoldRequest request, Authentication authentication) {
+        return Response.success(seatHoldService.release(authentication.getName(), gameId, request.getSectionId(), request.getSeats()));
+    }
+
+}
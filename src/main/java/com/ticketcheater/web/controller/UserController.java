@@ -7,26 +7,34 @@ import com.ticketcheater.web.controller.response.Response;
 import com.ticketcheater.web.controller.response.UserLoginResponse;
 import com.ticketcheater.web.controller.response.UserReissueResponse;
 import com.ticketcheater.web.controller.response.UserSignupResponse;
+import com.ticketcheater.web.dto.UserDTO;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
 import com.ticketcheater.web.jwt.JwtTokenProvider;
 import com.ticketcheater.web.jwt.TokenDTO;
+import com.ticketcheater.web.jwt.VerifiedClaims;
+import com.ticketcheater.web.service.RateLimitService;
 import com.ticketcheater.web.service.UserService;
+import com.ticketcheater.web.utils.ClassUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final String DEVICE_ID_HEADER = "X-Device-Id";
+
     private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimitService rateLimitService;
 
     @PostMapping("/signup")
-    public Response<UserSignupResponse> signup(@RequestBody UserSignupRequest request) {
+    public Response<UserSignupResponse> signup(@RequestBody UserSignupRequest request, HttpServletRequest servletRequest) {
+        rateLimitService.check("signup", servletRequest.getRemoteAddr(), request.getUsername());
         return Response.success(UserSignupResponse.from(userService.signup(
                 request.getUsername(),
                 request.getPassword(),
@@ -36,22 +44,38 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public Response<UserLoginResponse> login(@RequestBody UserLoginRequest request) {
-        TokenDTO token = userService.login(request.getUsername(), request.getPassword());
+    public Response<UserLoginResponse> login(@RequestBody UserLoginRequest request,
+                                             @RequestHeader(value = DEVICE_ID_HEADER, required = false) String deviceId,
+                                             HttpServletRequest servletRequest) {
+        rateLimitService.check("login", servletRequest.getRemoteAddr(), request.getUsername());
+        TokenDTO token = userService.login(request.getUsername(), request.getPassword(), deviceId);
         return Response.success(new UserLoginResponse(token.accessToken(), token.refreshToken()));
     }
 
     @PostMapping("/reissue")
-    public Response<UserReissueResponse> reissue(@RequestBody UserReissueRequest request, Authentication authentication) {
-        return Response.success(UserReissueResponse.from(jwtTokenProvider.reissueAccessToken(
-                authentication.getName(),
-                request.getRefreshToken()
-        )));
+    public Response<UserReissueResponse> reissue(@RequestBody UserReissueRequest request,
+                                                 Authentication authentication,
+                                                 HttpServletRequest servletRequest) {
+        rateLimitService.check("reissue", servletRequest.getRemoteAddr(), authentication.getName());
+        UserDTO user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), UserDTO.class);
+        if (user == null) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, "principal is not a user");
+        }
+        return Response.success(UserReissueResponse.from(jwtTokenProvider.reissueAccessToken(user, request.getRefreshToken())));
     }
 
     @PostMapping("/logout")
     public Response<Void> logout(Authentication authentication) {
-        userService.logout(authentication.getName());
+        userService.logout(
+                authentication.getName(),
+                ClassUtils.getSafeCastInstance(authentication.getCredentials(), VerifiedClaims.class)
+        );
+        return Response.success();
+    }
+
+    @PostMapping("/logout/all")
+    public Response<Void> logoutAll(Authentication authentication) {
+        userService.logoutAll(authentication.getName());
         return Response.success();
     }
 
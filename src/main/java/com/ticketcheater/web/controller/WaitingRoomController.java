@@ -0,0 +1,50 @@
+package com.ticketcheater.web.controller;
+
+import com.ticketcheater.web.controller.response.Response;
+import com.ticketcheater.web.controller.response.WaitingRoomResponse;
+import com.ticketcheater.web.dto.WaitingRoomDTO;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/admin/games/{gameId}/queue")
+    public Response<Void> openWaitingRoom(@PathVariable Long gameId, @RequestParam int rate, Authentication authentication) {
+        waitingRoomService.open(authentication.getName(), gameId, rate);
+        return Response.success();
+    }
+
+    @DeleteMapping("/admin/games/{gameId}/queue")
+    public Response<Void> closeWaitingRoom(@PathVariable Long gameId, Authentication authentication) {
+        waitingRoomService.close(authentication.getName(), gameId);
+        return Response.success();
+    }
+
+    @PostMapping("/games/{gameId}/queue")
+    public Response<WaitingRoomResponse> enter(@PathVariable Long gameId, Authentication authentication) {
+        return Response.success(WaitingRoomResponse.from(waitingRoomService.enter(authentication.getName(), gameId)));
+    }
+
+    @GetMapping("/games/{gameId}/queue")
+    public Response<WaitingRoomResponse> poll(@PathVariable Long gameId,
+                                              @RequestHeader(QUEUE_TOKEN_HEADER) String queueToken,
+                                              Authentication authentication) {
+        WaitingRoomDTO waitingRoom = waitingRoomService.poll(authentication.getName(), queueToken);
+        if (!waitingRoom.gameId().equals(gameId)) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, "queue token belongs to another game");
+        }
+        return Response.success(WaitingRoomResponse.from(waitingRoom));
+    }
+
+}
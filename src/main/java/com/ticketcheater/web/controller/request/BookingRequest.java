@@ -0,0 +1,11 @@
+package com.ticketcheater.web.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingRequest {
+    private Long sectionId;
+    private int[] seats;
+}
@@ -0,0 +1,25 @@
+package com.ticketcheater.web.controller.request;
+
+import com.ticketcheater.web.dto.GameUpdateDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class GameUpdateRequest {
+    private Long id;
+    private Long version;
+    private String category;
+    private String title;
+    private String home;
+    private String away;
+    private String place;
+    private Timestamp startedAt;
+
+    public GameUpdateDTO toDto() {
+        return new GameUpdateDTO(id, version, category, title, home, away, place, startedAt);
+    }
+
+}
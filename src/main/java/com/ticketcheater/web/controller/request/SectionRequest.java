@@ -0,0 +1,12 @@
+package com.ticketcheater.web.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SectionRequest {
+    private String place;
+    private String name;
+    private int seatCount;
+}
@@ -0,0 +1,29 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.BookingDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class BookingResponse {
+
+    private String bookingId;
+    private Long gameId;
+    private Long sectionId;
+    private int[] seats;
+    private Instant createdAt;
+
+    public static BookingResponse from(BookingDTO booking) {
+        return new BookingResponse(
+                booking.bookingId(),
+                booking.gameId(),
+                booking.sectionId(),
+                booking.seats(),
+                booking.createdAt()
+        );
+    }
+
+}
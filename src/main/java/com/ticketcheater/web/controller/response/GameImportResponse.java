@@ -0,0 +1,31 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.GameImportResultDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class GameImportResponse {
+
+    private long total;
+    private long imported;
+    private long failed;
+    private List<GameImportResultDTO.RowError> errors;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    public static GameImportResponse from(GameImportResultDTO result) {
+        return new GameImportResponse(
+                result.total(),
+                result.imported(),
+                result.failed(),
+                result.errors(),
+                result.elapsedMillis(),
+                result.rowsPerSecond()
+        );
+    }
+
+}
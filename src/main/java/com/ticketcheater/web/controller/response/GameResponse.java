@@ -1,6 +1,7 @@
 package com.ticketcheater.web.controller.response;
 
 import com.ticketcheater.web.dto.GameDTO;
+import com.ticketcheater.web.dto.GameSummaryDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -17,6 +18,7 @@ public class GameResponse {
     private String away;
     private String place;
     private Timestamp startedAt;
+    private Long version;
 
     public static GameResponse from(GameDTO game) {
         return new GameResponse(
@@ -26,7 +28,21 @@ public class GameResponse {
                 game.getHome(),
                 game.getAway(),
                 game.getPlace(),
-                game.getStartedAt()
+                game.getStartedAt(),
+                game.getVersion()
+        );
+    }
+
+    public static GameResponse from(GameSummaryDTO game) {
+        return new GameResponse(
+                game.id(),
+                game.category().toString(),
+                game.title(),
+                game.home(),
+                game.away(),
+                game.place(),
+                game.startedAt(),
+                game.version()
         );
     }
 
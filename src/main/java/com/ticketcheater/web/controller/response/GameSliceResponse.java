@@ -0,0 +1,25 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.GameSliceDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class GameSliceResponse {
+
+    private List<GameResponse> content;
+    private String next;
+    private boolean hasNext;
+
+    public static GameSliceResponse from(GameSliceDTO slice) {
+        return new GameSliceResponse(
+                slice.content().stream().map(GameResponse::from).toList(),
+                slice.hasNext() ? slice.next().encode() : null,
+                slice.hasNext()
+        );
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.GameUpdateResultDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GameUpdateResponse {
+
+    private Long id;
+    private String status;
+    private Long version;
+    private String message;
+
+    public static GameUpdateResponse from(GameUpdateResultDTO result) {
+        return new GameUpdateResponse(
+                result.id(),
+                result.status().name(),
+                result.version(),
+                result.message()
+        );
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.SeatHoldDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class SeatHoldResponse {
+
+    private Long gameId;
+    private Long sectionId;
+    private int[] seats;
+    private Instant expiresAt;
+
+    public static SeatHoldResponse from(SeatHoldDTO hold) {
+        return new SeatHoldResponse(
+                hold.gameId(),
+                hold.sectionId(),
+                hold.seats(),
+                hold.expiresAt()
+        );
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.SectionAvailabilityDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SectionAvailabilityResponse {
+
+    private Long sectionId;
+    private int seatCount;
+    private long freeCount;
+
+    public static SectionAvailabilityResponse from(SectionAvailabilityDTO availability) {
+        return new SectionAvailabilityResponse(
+                availability.sectionId(),
+                availability.seatCount(),
+                availability.freeCount()
+        );
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.SectionDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SectionResponse {
+
+    private Long id;
+    private String place;
+    private String name;
+    private int seatCount;
+
+    public static SectionResponse from(SectionDTO section) {
+        return new SectionResponse(
+                section.id(),
+                section.place(),
+                section.name(),
+                section.seatCount()
+        );
+    }
+
+}
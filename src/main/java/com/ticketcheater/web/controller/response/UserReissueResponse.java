@@ -1,5 +1,6 @@
 package com.ticketcheater.web.controller.response;
 
+import com.ticketcheater.web.jwt.TokenDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -7,9 +8,10 @@ import lombok.Getter;
 @AllArgsConstructor
 public class UserReissueResponse {
     private String accessToken;
+    private String refreshToken;
 
-    public static UserReissueResponse from(String accessToken) {
-        return new UserReissueResponse(accessToken);
+    public static UserReissueResponse from(TokenDTO token) {
+        return new UserReissueResponse(token.accessToken(), token.refreshToken());
     }
 
 }
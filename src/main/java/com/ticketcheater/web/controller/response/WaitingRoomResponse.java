@@ -0,0 +1,29 @@
+package com.ticketcheater.web.controller.response;
+
+import com.ticketcheater.web.dto.WaitingRoomDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class WaitingRoomResponse {
+
+    private Long gameId;
+    private long position;
+    private long estimatedWaitSeconds;
+    private boolean admitted;
+    private String queueToken;
+    private String admissionToken;
+
+    public static WaitingRoomResponse from(WaitingRoomDTO waitingRoom) {
+        return new WaitingRoomResponse(
+                waitingRoom.gameId(),
+                waitingRoom.position(),
+                waitingRoom.estimatedWait().toSeconds(),
+                waitingRoom.isAdmitted(),
+                waitingRoom.queueToken(),
+                waitingRoom.admissionToken()
+        );
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.ticketcheater.web.dto;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record BookingDTO(String bookingId, Long gameId, Long sectionId, int[] seats, String username, Instant createdAt, String streamId) {
+
+    public String joinedSeats() {
+        return joinSeats(seats);
+    }
+
+    public static String joinSeats(int[] seats) {
+        return Arrays.stream(seats).mapToObj(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static int[] splitSeats(String seats) {
+        return Arrays.stream(seats.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    public static BookingDTO fromEntry(String streamId, Map<?, ?> fields) {
+        return new BookingDTO(
+                (String) fields.get("bookingId"),
+                Long.valueOf((String) fields.get("gameId")),
+                Long.valueOf((String) fields.get("sectionId")),
+                splitSeats((String) fields.get("seats")),
+                (String) fields.get("username"),
+                Instant.ofEpochMilli(Long.parseLong((String) fields.get("createdAt"))),
+                streamId
+        );
+    }
+
+}
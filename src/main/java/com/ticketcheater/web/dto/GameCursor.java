@@ -0,0 +1,42 @@
+package com.ticketcheater.web.dto;
+
+import com.ticketcheater.web.entity.Game;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record GameCursor(Timestamp startedAt, Long id) {
+
+    private static final String DELIMITER = "|";
+
+    public static GameCursor from(Game game) {
+        return new GameCursor(game.getStartedAt(), game.getId());
+    }
+
+    public static GameCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(DELIMITER);
+            return new GameCursor(
+                    Timestamp.from(Instant.parse(decoded.substring(0, index))),
+                    Long.parseLong(decoded.substring(index + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new TicketApplicationException(ErrorCode.INVALID_CURSOR, String.format("cursor is %s", cursor));
+        }
+    }
+
+    public String encode() {
+        String raw = startedAt.toInstant() + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -3,11 +3,13 @@ package com.ticketcheater.web.dto;
 import com.ticketcheater.web.entity.Game;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.sql.Timestamp;
 
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor
 public class GameDTO {
 
     private Long id;
@@ -20,13 +22,14 @@ public class GameDTO {
     private Timestamp createdAt;
     private Timestamp updatedAt;
     private Timestamp removedAt;
+    private Long version;
 
     public static GameDTO of(String category, String title, String home, String away, String place, Timestamp startedAt) {
         return GameDTO.of(null, category, title, home, away, place, startedAt, null, null, null);
     }
 
     public static GameDTO of(Long id, String category, String title, String home, String away, String place, Timestamp startedAt, Timestamp createdAt, Timestamp updatedAt, Timestamp removedAt) {
-        return new GameDTO(id, category, title, home, away, place, startedAt, createdAt, updatedAt, removedAt);
+        return new GameDTO(id, category, title, home, away, place, startedAt, createdAt, updatedAt, removedAt, null);
     }
 
     public static GameDTO from(Game game) {
@@ -40,7 +43,8 @@ public class GameDTO {
                 game.getStartedAt(),
                 game.getCreatedAt(),
                 game.getUpdatedAt(),
-                game.getRemovedAt()
+                game.getRemovedAt(),
+                game.getVersion()
         );
     }
 
@@ -0,0 +1,14 @@
+package com.ticketcheater.web.dto;
+
+import java.util.List;
+
+public record GameImportResultDTO(long total, long imported, long failed, List<RowError> errors, long elapsedMillis) {
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+    }
+
+    public record RowError(long line, String message) {
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.ticketcheater.web.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public record GamePageDTO(List<GameSummaryDTO> content, long totalElements) {
+
+    public static GamePageDTO from(Page<GameSummaryDTO> page) {
+        return new GamePageDTO(page.getContent(), page.getTotalElements());
+    }
+
+    public Page<GameSummaryDTO> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.ticketcheater.web.dto;
+
+import java.util.List;
+
+public record GameSliceDTO(List<GameDTO> content, GameCursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.ticketcheater.web.dto;
+
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.entity.Game;
+
+import java.sql.Timestamp;
+
+public record GameSummaryDTO(Long id, Category category, String title, String home, String away, String place, Timestamp startedAt, Long version) {
+
+    public static GameSummaryDTO from(Game game) {
+        return new GameSummaryDTO(
+                game.getId(),
+                game.getCategory(),
+                game.getTitle(),
+                game.getHome(),
+                game.getAway(),
+                game.getPlace(),
+                game.getStartedAt(),
+                game.getVersion()
+        );
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.ticketcheater.web.dto;
+
+import java.sql.Timestamp;
+
+public record GameUpdateDTO(Long id, Long version, String category, String title, String home, String away, String place, Timestamp startedAt) {
+}
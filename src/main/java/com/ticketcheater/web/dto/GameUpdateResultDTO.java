@@ -0,0 +1,28 @@
+package com.ticketcheater.web.dto;
+
+public record GameUpdateResultDTO(Long id, Status status, Long version, String message) {
+
+    public static GameUpdateResultDTO updated(Long id, Long version) {
+        return new GameUpdateResultDTO(id, Status.UPDATED, version, null);
+    }
+
+    public static GameUpdateResultDTO conflict(Long id, Long version) {
+        return new GameUpdateResultDTO(id, Status.CONFLICT, version, "game was modified, current version is " + version);
+    }
+
+    public static GameUpdateResultDTO notFound(Long id) {
+        return new GameUpdateResultDTO(id, Status.NOT_FOUND, null, null);
+    }
+
+    public static GameUpdateResultDTO invalid(Long id, String message) {
+        return new GameUpdateResultDTO(id, Status.INVALID, null, message);
+    }
+
+    public enum Status {
+        UPDATED,
+        CONFLICT,
+        NOT_FOUND,
+        INVALID
+    }
+
+}
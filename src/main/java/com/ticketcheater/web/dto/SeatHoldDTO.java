@@ -0,0 +1,6 @@
+package com.ticketcheater.web.dto;
+
+import java.time.Instant;
+
+public record SeatHoldDTO(Long gameId, Long sectionId, int[] seats, String holder, Instant expiresAt) {
+}
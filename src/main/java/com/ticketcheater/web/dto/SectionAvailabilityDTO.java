@@ -0,0 +1,4 @@
+package com.ticketcheater.web.dto;
+
+public record SectionAvailabilityDTO(Long sectionId, int seatCount, long freeCount) {
+}
@@ -0,0 +1,11 @@
+package com.ticketcheater.web.dto;
+
+import com.ticketcheater.web.entity.Section;
+
+public record SectionDTO(Long id, String place, String name, int seatCount) {
+
+    public static SectionDTO from(Section section) {
+        return new SectionDTO(section.getId(), section.getPlace(), section.getName(), section.getSeatCount());
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.ticketcheater.web.dto;
+
+import java.time.Duration;
+
+public record WaitingRoomDTO(Long gameId, long position, Duration estimatedWait, String queueToken, String admissionToken) {
+
+    public boolean isAdmitted() {
+        return admissionToken != null;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.ticketcheater.web.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Table(indexes = {
+        @Index(columnList = "booking_id", unique = true),
+        @Index(columnList = "game_id")
+})
+@Entity(name = "\"booking\"")
+public class Booking extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", length = 36) private String bookingId;
+
+    @Column(name = "game_id") private Long gameId;
+
+    @Column(name = "section_id") private Long sectionId;
+
+    @Column(name = "seats") private String seats;
+
+    @Column(name = "username") private String username;
+
+    @Column(name = "stream_id") private String streamId;
+
+}
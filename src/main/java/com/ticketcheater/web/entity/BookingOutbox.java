@@ -0,0 +1,32 @@
+package com.ticketcheater.web.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+@Table(indexes = {
+        @Index(columnList = "booking_id", unique = true),
+        @Index(columnList = "published_at, id")
+})
+@Entity(name = "\"booking_outbox\"")
+public class BookingOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", length = 36) private String bookingId;
+
+    @Column(name = "game_id") private Long gameId;
+
+    @Column(name = "section_id") private Long sectionId;
+
+    @Column(name = "seats") private String seats;
+
+    @Column(name = "published_at") private Timestamp publishedAt;
+
+}
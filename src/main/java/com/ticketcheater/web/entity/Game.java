@@ -9,14 +9,15 @@ import java.sql.Timestamp;
 @Getter
 @Setter
 @Table(indexes = {
-        @Index(columnList = "category"),
-        @Index(columnList = "started_at")
+        @Index(columnList = "category, started_at, id"),
+        @Index(columnList = "started_at, id")
 })
 @Entity(name = "\"game\"")
 public class Game extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "game_id")
+    @TableGenerator(name = "game_id", table = "id_generator", pkColumnName = "name", valueColumnName = "next_id", pkColumnValue = "game", allocationSize = 100)
     private Long id;
 
     @Enumerated(EnumType.STRING) private Category category;
@@ -29,7 +30,10 @@ public class Game extends BaseEntity {
 
     @Column(name = "place") private String place;
 
-    @Column(name = "started_at") private Timestamp startedAt;
+    @Column(name = "started_at", nullable = false) private Timestamp startedAt;
+
+    @Version
+    @Column(name = "version") private Long version;
 
     public static Game of(Category category, String title, String home, String away, String place, Timestamp startedAt) {
         Game game = new Game();
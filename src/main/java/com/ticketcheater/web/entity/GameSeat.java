@@ -0,0 +1,38 @@
+package com.ticketcheater.web.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Table(indexes = {
+        @Index(columnList = "game_id, section_id, seat_number", unique = true)
+})
+@Entity(name = "\"game_seat\"")
+public class GameSeat extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "game_id") private Long gameId;
+
+    @Column(name = "section_id") private Long sectionId;
+
+    @Column(name = "seat_number") private int seatNumber;
+
+    @Enumerated(EnumType.STRING) private SeatStatus status;
+
+    @Column(name = "booking_id", length = 36) private String bookingId;
+
+    public static GameSeat of(Long gameId, Long sectionId, int seatNumber, SeatStatus status) {
+        GameSeat seat = new GameSeat();
+        seat.setGameId(gameId);
+        seat.setSectionId(sectionId);
+        seat.setSeatNumber(seatNumber);
+        seat.setStatus(status);
+        return seat;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ticketcheater.web.entity;
+
+public enum SeatStatus {
+    FREE,
+    HELD,
+    SOLD;
+
+    private static final SeatStatus[] VALUES = values();
+
+    public int bits() {
+        return ordinal();
+    }
+
+    public static SeatStatus fromBits(int bits) {
+        return VALUES[bits];
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.ticketcheater.web.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Table(indexes = {
+        @Index(columnList = "place, name", unique = true)
+})
+@Entity(name = "\"section\"")
+public class Section extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "place") private String place;
+
+    @Column(name = "name") private String name;
+
+    @Column(name = "seat_count") private int seatCount;
+
+    public static Section of(String place, String name, int seatCount) {
+        Section section = new Section();
+        section.setPlace(place);
+        section.setName(name);
+        section.setSeatCount(seatCount);
+        return section;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.ticketcheater.web.event;
+
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.entity.Category;
+
+import java.util.Set;
+
+public record GameChangedEvent(GameSummaryDTO game, Set<Category> categories) {
+}
@@ -0,0 +1,8 @@
+package com.ticketcheater.web.event;
+
+import com.ticketcheater.web.entity.Category;
+
+import java.util.Set;
+
+public record GamesImportedEvent(Set<Category> categories) {
+}
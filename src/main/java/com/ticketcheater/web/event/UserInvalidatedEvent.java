@@ -0,0 +1,4 @@
+package com.ticketcheater.web.event;
+
+public record UserInvalidatedEvent(String username) {
+}
@@ -0,0 +1,4 @@
+package com.ticketcheater.web.event;
+
+public record UserSignedUpEvent(String username) {
+}
@@ -12,10 +12,28 @@ public enum ErrorCode {
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "User not founded"),
     GAME_NOT_FOUND(HttpStatus.NOT_FOUND, "Game not founded"),
     CATEGORY_NOT_FOUND(HttpStatus.NOT_FOUND, "Category not found"),
+    INVALID_GAME(HttpStatus.BAD_REQUEST, "Game is not valid"),
+    GAME_UPDATE_CONFLICT(HttpStatus.CONFLICT, "Game was modified concurrently"),
+    TOO_MANY_UPDATES(HttpStatus.BAD_REQUEST, "Too many updates in one request"),
+    SECTION_NOT_FOUND(HttpStatus.NOT_FOUND, "Section not found"),
+    SEAT_NOT_FOUND(HttpStatus.NOT_FOUND, "Seat not found"),
+    SEAT_NOT_AVAILABLE(HttpStatus.CONFLICT, "Seat is not available"),
+    HOLD_NOT_FOUND(HttpStatus.CONFLICT, "Seat hold is expired or not owned"),
+    INVALID_SEATS(HttpStatus.BAD_REQUEST, "Seats are not valid"),
+    INVALID_SECTION(HttpStatus.BAD_REQUEST, "Section is not valid"),
+    WAITING_ROOM_NOT_FOUND(HttpStatus.NOT_FOUND, "Waiting room is not open"),
+    ADMISSION_REQUIRED(HttpStatus.FORBIDDEN, "Admission from the waiting room is required"),
+    INVALID_ADMISSION_RATE(HttpStatus.BAD_REQUEST, "Admission rate must be positive"),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency key is not valid"),
+    IDEMPOTENCY_KEY_IN_FLIGHT(HttpStatus.CONFLICT, "Request with the same idempotency key is in progress"),
+    IDEMPOTENCY_KEY_MISMATCH(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency key was used with a different request body"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Cursor is not valid"),
     INVALID_PASSWORD(HttpStatus.NOT_FOUND, "password is not valid"),
     INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid token"),
     EXPIRED_TOKEN(HttpStatus.UNAUTHORIZED, "Expired token"),
     INVALID_PERMISSION(HttpStatus.UNAUTHORIZED, "User has invalid permission"),
+    PASSWORD_HASHING_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "Too many login requests, retry later"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "Too many requests, retry later"),
     ;
 
     private final HttpStatus status;
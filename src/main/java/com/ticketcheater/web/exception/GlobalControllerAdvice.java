@@ -2,6 +2,7 @@ package com.ticketcheater.web.exception;
 
 import com.ticketcheater.web.controller.response.Response;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -17,4 +18,12 @@ public class GlobalControllerAdvice {
                 .body(Response.error(e.getCode().name()));
     }
 
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<?> retryLaterHandler(RetryLaterException e) {
+        log.warn("Request is rejected {}", e.toString());
+        return ResponseEntity.status(e.getCode().getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Response.error(e.getCode().name()));
+    }
+
 }
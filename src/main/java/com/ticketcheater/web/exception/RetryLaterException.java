@@ -0,0 +1,30 @@
+package com.ticketcheater.web.exception;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.time.Duration;
+
+@Getter
+public class RetryLaterException extends TicketApplicationException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public RetryLaterException(ErrorCode code, Duration retryAfter) {
+        super(code);
+        this.retryAfter = retryAfter;
+    }
+
+    public RetryLaterException(ErrorCode code, String message, Duration retryAfter) {
+        super(code, message);
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+}
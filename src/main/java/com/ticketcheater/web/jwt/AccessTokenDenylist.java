@@ -0,0 +1,98 @@
+package com.ticketcheater.web.jwt;
+
+import com.ticketcheater.web.repository.TokenDenylistRepository;
+import com.ticketcheater.web.utils.BloomFilter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Log4j2
+@Component
+public class AccessTokenDenylist implements MessageListener {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenDenylistRepository tokenDenylistRepository;
+    private final long minimumCapacity;
+    private final Map<String, Long> recentlyRevoked = new ConcurrentHashMap<>();
+    private final AtomicLong revokedCount = new AtomicLong();
+    private volatile BloomFilter filter;
+
+    public AccessTokenDenylist(TokenDenylistRepository tokenDenylistRepository,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${jwt.denylist.minimum-capacity:10000}") long minimumCapacity) {
+        this.tokenDenylistRepository = tokenDenylistRepository;
+        this.minimumCapacity = minimumCapacity;
+        this.filter = BloomFilter.create(minimumCapacity, FALSE_POSITIVE_RATE);
+        listenerContainer.addMessageListener(this, new ChannelTopic(TokenDenylistRepository.REVOCATION_CHANNEL));
+    }
+
+    public void revoke(VerifiedClaims claims) {
+        if (claims.tokenId() == null) {
+            return;
+        }
+        Duration remainingLifetime = Duration.between(Instant.now(), claims.expiration());
+        if (remainingLifetime.isNegative() || remainingLifetime.isZero()) {
+            return;
+        }
+        tokenDenylistRepository.revoke(claims.tokenId(), remainingLifetime);
+        add(claims.tokenId());
+    }
+
+    public boolean isRevoked(VerifiedClaims claims) {
+        if (claims.tokenId() == null || !filter.mightContain(claims.tokenId())) {
+            return false;
+        }
+        return tokenDenylistRepository.isRevoked(claims.tokenId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.denylist.rebuild-interval:60s}", initialDelayString = "${jwt.denylist.rebuild-interval:60s}")
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        try {
+            AtomicLong count = new AtomicLong();
+            BloomFilter rebuilt = BloomFilter.create(Math.max(minimumCapacity, revokedCount.get() * 2), FALSE_POSITIVE_RATE);
+            tokenDenylistRepository.forEachRevoked(tokenId -> {
+                rebuilt.put(tokenId);
+                count.incrementAndGet();
+            });
+            recentlyRevoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            revokedCount.set(count.get());
+            recentlyRevoked.values().removeIf(it -> it - startedAt < 0);
+            log.info("Rebuild access token denylist with {} revoked tokens", count.get());
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild access token denylist {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void add(String tokenId) {
+        recentlyRevoked.put(tokenId, System.nanoTime());
+        BloomFilter current = filter;
+        current.put(tokenId);
+        if (filter != current) {
+            filter.put(tokenId);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.ticketcheater.web.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+public record AdmissionClaims(String type, String username, Long gameId, long sequence, Instant expiration) {
+
+    public static AdmissionClaims from(Claims claims) {
+        Long sequence = claims.get("seq", Long.class);
+        return new AdmissionClaims(
+                claims.get("typ", String.class),
+                claims.get("username", String.class),
+                claims.get("gid", Long.class),
+                sequence == null ? 0L : sequence,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+}
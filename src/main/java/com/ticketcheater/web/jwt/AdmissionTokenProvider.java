@@ -0,0 +1,94 @@
+package com.ticketcheater.web.jwt;
+
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Issues and checks the waiting room tokens. Both are verified with the signing key alone, so a queue poll
+ * or a guarded booking request never needs a round-trip to find out who the caller is or where they stand.
+ */
+@Component
+public class AdmissionTokenProvider {
+
+    static final String QUEUE_TYPE = "queue";
+    static final String ADMISSION_TYPE = "admission";
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Duration queueTokenTtl;
+    private final Duration admissionTtl;
+
+    public AdmissionTokenProvider(@Value("${waiting-room.admission-key}") String admissionKey,
+                                  @Value("${jwt.secret-key}") String secretKey,
+                                  @Value("${jwt.refresh-key}") String refreshKey,
+                                  @Value("${waiting-room.queue-token-ttl:6h}") Duration queueTokenTtl,
+                                  @Value("${waiting-room.admission-ttl:10m}") Duration admissionTtl) {
+        // A shared key would let a token of one kind be replayed as another, so the admission key must stand alone.
+        if (admissionKey.isBlank() || admissionKey.equals(secretKey) || admissionKey.equals(refreshKey)) {
+            throw new IllegalStateException("waiting-room.admission-key must be set and differ from the jwt keys");
+        }
+        this.signingKey = JwtTokenVerifier.signingKey(admissionKey);
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.queueTokenTtl = queueTokenTtl;
+        this.admissionTtl = admissionTtl;
+    }
+
+    public String generateQueueToken(String username, Long gameId, long sequence) {
+        return generate(QUEUE_TYPE, username, gameId, sequence, queueTokenTtl);
+    }
+
+    public String generateAdmissionToken(String username, Long gameId, long sequence) {
+        return generate(ADMISSION_TYPE, username, gameId, sequence, admissionTtl);
+    }
+
+    public AdmissionClaims verifyQueueToken(String token) {
+        return verify(token, QUEUE_TYPE);
+    }
+
+    public AdmissionClaims verifyAdmissionToken(String token) {
+        return verify(token, ADMISSION_TYPE);
+    }
+
+    private String generate(String type, String username, Long gameId, long sequence, Duration ttl) {
+        Claims claims = Jwts.claims();
+        claims.put("typ", type);
+        claims.put("username", username);
+        claims.put("gid", gameId);
+        claims.put("seq", sequence);
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private AdmissionClaims verify(String token, String type) {
+        AdmissionClaims claims;
+        try {
+            claims = AdmissionClaims.from(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            throw new TicketApplicationException(ErrorCode.EXPIRED_TOKEN);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, e.getMessage());
+        }
+        if (!type.equals(claims.type()) || claims.username() == null || claims.gameId() == null) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, String.format("not a %s token", type));
+        }
+        return claims;
+    }
+
+}
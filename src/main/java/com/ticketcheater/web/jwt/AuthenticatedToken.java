@@ -0,0 +1,11 @@
+package com.ticketcheater.web.jwt;
+
+import com.ticketcheater.web.dto.UserDTO;
+
+public record AuthenticatedToken(UserDTO principal, VerifiedClaims claims) {
+
+    public static AuthenticatedToken of(UserDTO principal, VerifiedClaims claims) {
+        return new AuthenticatedToken(principal, claims);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.ticketcheater.web.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.ticketcheater.web.event.UserInvalidatedEvent;
+import com.ticketcheater.web.utils.HashUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Component
+public class AuthenticationCache {
+
+    private final Cache<String, AuthenticatedToken> cache;
+    private final Map<String, Set<String>> keysByUsername = new ConcurrentHashMap<>();
+
+    public AuthenticationCache(@Value("${jwt.authentication-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${jwt.authentication-cache.maximum-ttl:5m}") Duration maximumTtl,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maximumTtl))
+                .executor(Runnable::run)
+                .removalListener((String key, AuthenticatedToken value, RemovalCause cause) -> {
+                    if (key != null && value != null && cause != RemovalCause.REPLACED) {
+                        unindex(value.principal().getUsername(), key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "authentication");
+    }
+
+    public Optional<AuthenticatedToken> get(String token) {
+        return Optional.ofNullable(cache.getIfPresent(HashUtils.sha256(token)));
+    }
+
+    public void put(String token, AuthenticatedToken authenticatedToken) {
+        if (authenticatedToken.claims().expiration().isAfter(Instant.now())) {
+            String key = HashUtils.sha256(token);
+            keysByUsername.compute(authenticatedToken.principal().getUsername(), (it, keys) -> {
+                Set<String> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                indexed.add(key);
+                return indexed;
+            });
+            cache.put(key, authenticatedToken);
+        }
+    }
+
+    public void invalidateUser(String username) {
+        Set<String> keys = keysByUsername.remove(username);
+        if (keys != null) {
+            log.info("Invalidate {} cached authentications ({})", keys.size(), username);
+            cache.invalidateAll(keys);
+        }
+    }
+
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        invalidateUser(event.username());
+    }
+
+    private void unindex(String username, String key) {
+        keysByUsername.computeIfPresent(username, (it, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record TokenExpiry(Duration maximumTtl) implements Expiry<String, AuthenticatedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedToken value, long currentTime) {
+            long untilExpiration = Duration.between(Instant.now(), value.claims().expiration()).toNanos();
+            return Math.max(0, Math.min(untilExpiration, maximumTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
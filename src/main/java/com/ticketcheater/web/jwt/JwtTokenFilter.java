@@ -1,7 +1,12 @@
 package com.ticketcheater.web.jwt;
 
+import com.ticketcheater.web.controller.response.Response;
 import com.ticketcheater.web.dto.UserDTO;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.TokenVersionRepository;
 import com.ticketcheater.web.service.UserService;
+import com.ticketcheater.web.service.WaitingRoomService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,19 +14,32 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Log4j2
 @RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
 
+    public static final String ADMISSION_HEADER = "X-Admission-Token";
+    private static final List<String> ADMISSION_PATHS = List.of("/games/{gameId}/holds/**", "/games/{gameId}/bookings/**");
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     private final UserService userService;
-    private final String secretKey;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final AuthenticationCache authenticationCache;
+    private final TokenVersionRepository tokenVersionRepository;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final WaitingRoomService waitingRoomService;
+    private final boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -37,23 +55,78 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
         final String token = header.split(" ")[1].trim();
 
-        String username = JwtTokenProvider.getUsername(token, secretKey);
-        UserDTO userDetails = userService.loadUserByUsername(username);
+        AuthenticatedToken authenticatedToken = authenticationCache.get(token).orElse(null);
+        if (authenticatedToken == null) {
+            try {
+                VerifiedClaims claims = jwtTokenVerifier.verifyAccessToken(token);
+                authenticatedToken = AuthenticatedToken.of(loadPrincipal(claims), claims);
+            } catch (TicketApplicationException e) {
+                log.warn("Access token is rejected {}", e.getMessage());
+                chain.doFilter(request, response);
+                return;
+            }
+            authenticationCache.put(token, authenticatedToken);
+        }
 
-        if (Boolean.FALSE.equals(JwtTokenProvider.validate(token, userDetails.getUsername(), secretKey))) {
+        VerifiedClaims claims = authenticatedToken.claims();
+        if (claims.version() != tokenVersionRepository.getVersion(claims.username())) {
+            log.warn("Access token of username {} has been revoked", claims.username());
+            chain.doFilter(request, response);
+            return;
+        }
+        if (accessTokenDenylist.isRevoked(claims)) {
+            log.warn("Access token {} of username {} has been logged out", claims.tokenId(), claims.username());
             chain.doFilter(request, response);
             return;
         }
 
+        UserDTO userDetails = authenticatedToken.principal();
+
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities()
+                userDetails, claims, userDetails.getAuthorities()
         );
 
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        if (!isAdmitted(request, claims.username())) {
+            log.warn("Request of username {} to {} has no admission from the waiting room", claims.username(), request.getServletPath());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setStatus(ErrorCode.ADMISSION_REQUIRED.getStatus().value());
+            response.getWriter().write(Response.error(ErrorCode.ADMISSION_REQUIRED.name()).toStream());
+            return;
+        }
         chain.doFilter(request, response);
 
     }
 
+    private boolean isAdmitted(HttpServletRequest request, String username) {
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        for (String pattern : ADMISSION_PATHS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                String gameId = PATH_MATCHER.extractUriTemplateVariables(pattern, path).get("gameId");
+                try {
+                    return waitingRoomService.isAdmitted(username, Long.valueOf(gameId), request.getHeader(ADMISSION_HEADER));
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private UserDTO loadPrincipal(VerifiedClaims claims) {
+        if (!stateless) {
+            return userService.loadUserByUsername(claims.username());
+        }
+        if (!claims.hasIdentity()) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, "identity claims are missing");
+        }
+        return claims.toPrincipal();
+    }
+
 }
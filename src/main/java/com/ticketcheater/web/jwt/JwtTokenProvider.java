@@ -1,12 +1,15 @@
 package com.ticketcheater.web.jwt;
 
+import com.ticketcheater.web.dto.UserDTO;
 import com.ticketcheater.web.exception.ErrorCode;
 import com.ticketcheater.web.exception.TicketApplicationException;
 import com.ticketcheater.web.repository.TokenCacheRepository;
+import com.ticketcheater.web.repository.TokenVersionRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -15,12 +18,15 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.Objects;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
     private final TokenCacheRepository tokenCacheRepository;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final TokenVersionRepository tokenVersionRepository;
 
     @Value("${jwt.secret-key}")
     private String secretKey;
@@ -34,6 +40,15 @@ public class JwtTokenProvider {
     @Value("${jwt.token.refresh-expiration-time}")
     private long refreshExpiredTimeMs;
 
+    private Key accessSigningKey;
+    private Key refreshSigningKey;
+
+    @PostConstruct
+    void initSigningKeys() {
+        accessSigningKey = JwtTokenVerifier.signingKey(secretKey);
+        refreshSigningKey = JwtTokenVerifier.signingKey(refreshKey);
+    }
+
     public static Boolean validate(String token, String username, String key) {
         String usernameByToken = getUsername(token, key);
         return usernameByToken.equals(username) && !isTokenExpired(token, key);
@@ -61,44 +76,68 @@ public class JwtTokenProvider {
         return expiration.before(new Date());
     }
 
-    public String generateAccessToken(String username) {
-        return doGenerateToken(username, accessExpiredTimeMs, secretKey);
+    public String generateAccessToken(UserDTO user, String sessionId) {
+        Claims claims = Jwts.claims();
+        claims.setId(UUID.randomUUID().toString());
+        claims.put("sid", sessionId);
+        claims.put("username", user.getUsername());
+        claims.put("uid", user.getId());
+        claims.put("role", user.getRole().toString());
+        claims.put("ver", tokenVersionRepository.getVersion(user.getUsername()));
+        return doGenerateToken(claims, accessExpiredTimeMs, accessSigningKey);
     }
 
-    public String generateRefreshToken(String username) {
-        String refreshToken = doGenerateToken(username, refreshExpiredTimeMs, refreshKey);
-        tokenCacheRepository.setToken(username, refreshKey, refreshExpiredTimeMs);
+    public String generateRefreshToken(String username, String sessionId) {
+        String refreshToken = doGenerateRefreshToken(username, sessionId);
+        tokenCacheRepository.setSession(username, sessionId, refreshToken, refreshExpiredTimeMs);
         return refreshToken;
     }
 
-    public void deleteRefreshToken(String username) {
-        tokenCacheRepository.deleteToken(username);
+    public void deleteRefreshToken(String username, String sessionId) {
+        tokenCacheRepository.deleteSession(username, sessionId);
     }
 
-    public String reissueAccessToken(String username, String rtk) {
-        String refreshToken = tokenCacheRepository.getToken(username);
-        if (Objects.isNull(refreshToken)) {
+    public void deleteAllRefreshTokens(String username) {
+        tokenCacheRepository.deleteAllSessions(username);
+    }
+
+    public TokenDTO reissueAccessToken(UserDTO user, String rtk) {
+        String username = user.getUsername();
+        VerifiedClaims claims = jwtTokenVerifier.verifyRefreshToken(rtk);
+        if (!username.equals(claims.username()) || Objects.isNull(claims.sessionId())) {
             throw new TicketApplicationException(
-                    ErrorCode.EXPIRED_TOKEN, String.format("The refresh token of username %s has expired", username)
+                    ErrorCode.INVALID_TOKEN, String.format("The refresh token of username %s is not valid", username)
             );
         }
-        if (!username.equals(getUsername(rtk, refreshKey))) {
-            throw new TicketApplicationException(
-                    ErrorCode.INVALID_TOKEN, String.format("The refresh token of username %s is not valid", username)
+
+        String rotatedToken = doGenerateRefreshToken(username, claims.sessionId());
+        switch (tokenCacheRepository.rotateSession(username, claims.sessionId(), rtk, rotatedToken, refreshExpiredTimeMs)) {
+            case EXPIRED -> throw new TicketApplicationException(
+                    ErrorCode.EXPIRED_TOKEN, String.format("The refresh token of username %s has expired", username)
+            );
+            case REUSED -> throw new TicketApplicationException(
+                    ErrorCode.INVALID_TOKEN, String.format("The refresh token of username %s was reused, session is revoked", username)
             );
+            default -> {
+                return TokenDTO.of(generateAccessToken(user, claims.sessionId()), rotatedToken);
+            }
         }
-        return generateAccessToken(username);
     }
 
-    private static String doGenerateToken(String username, long expireTime, String key) {
+    private String doGenerateRefreshToken(String username, String sessionId) {
         Claims claims = Jwts.claims();
+        claims.setId(UUID.randomUUID().toString());
+        claims.put("sid", sessionId);
         claims.put("username", username);
+        return doGenerateToken(claims, refreshExpiredTimeMs, refreshSigningKey);
+    }
 
+    private static String doGenerateToken(Claims claims, long expireTime, Key key) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expireTime))
-                .signWith(getSigningKey(key), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -0,0 +1,56 @@
+package com.ticketcheater.web.jwt;
+
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
+
+    public JwtTokenVerifier(@Value("${jwt.secret-key}") String secretKey,
+                            @Value("${jwt.refresh-key}") String refreshKey) {
+        this.accessTokenParser = buildParser(signingKey(secretKey));
+        this.refreshTokenParser = buildParser(signingKey(refreshKey));
+    }
+
+    public VerifiedClaims verifyAccessToken(String token) {
+        return verify(accessTokenParser, token);
+    }
+
+    public VerifiedClaims verifyRefreshToken(String token) {
+        return verify(refreshTokenParser, token);
+    }
+
+    static Key signingKey(String secretKey) {
+        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JwtParser buildParser(Key key) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
+    private static VerifiedClaims verify(JwtParser parser, String token) {
+        try {
+            return VerifiedClaims.from(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            throw new TicketApplicationException(ErrorCode.EXPIRED_TOKEN);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.ticketcheater.web.jwt;
+
+import com.ticketcheater.web.dto.UserDTO;
+import com.ticketcheater.web.entity.UserRole;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+public record VerifiedClaims(
+        String tokenId,
+        String sessionId,
+        String username,
+        Long userId,
+        UserRole role,
+        long version,
+        Instant issuedAt,
+        Instant expiration
+) {
+
+    public static VerifiedClaims from(Claims claims) {
+        String role = claims.get("role", String.class);
+        Long version = claims.get("ver", Long.class);
+        return new VerifiedClaims(
+                claims.getId(),
+                claims.get("sid", String.class),
+                claims.get("username", String.class),
+                claims.get("uid", Long.class),
+                role == null ? null : UserRole.valueOf(role),
+                version == null ? 0L : version,
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    public boolean hasIdentity() {
+        return username != null && userId != null && role != null;
+    }
+
+    public UserDTO toPrincipal() {
+        UserDTO user = new UserDTO();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setRole(role);
+        return user;
+    }
+
+}
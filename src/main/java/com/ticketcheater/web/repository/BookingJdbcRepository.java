@@ -0,0 +1,99 @@
+package com.ticketcheater.web.repository;
+
+import com.ticketcheater.web.dto.BookingDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write-behind statements for bookings drained from the stream. A batch delivered twice after a crash or a replay
+ * lands exactly once: bookings and outbox rows are INSERT IGNORE against their unique booking_id, and a seat row
+ * is kept as it is when it already exists, so a seat sold to another booking is reported instead of overwritten.
+ * The driver runs with rewriteBatchedStatements, which turns each batch into multi-row INSERT statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+
+    private static final String INSERT_BOOKING = "INSERT IGNORE INTO booking (booking_id, game_id, section_id, seats, username, stream_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SEAT = "INSERT INTO game_seat (game_id, section_id, seat_number, status, booking_id, created_at) VALUES (?, ?, ?, 'SOLD', ?, ?) ON DUPLICATE KEY UPDATE booking_id = booking_id";
+    private static final String COUNT_SEATS = "SELECT booking_id, count(*) AS seat_count FROM game_seat WHERE booking_id IN (:bookingIds) GROUP BY booking_id";
+    private static final String INSERT_OUTBOX = "INSERT IGNORE INTO booking_outbox (booking_id, game_id, section_id, seats, created_at) VALUES (?, ?, ?, ?, ?)";
+    // Skips the rows another relay has claimed but not committed yet.
+    private static final String CLAIM_UNPUBLISHED = "SELECT id, game_id, section_id, seats FROM booking_outbox WHERE published_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String COUNT_UNPUBLISHED = "SELECT count(*) FROM booking_outbox WHERE published_at IS NULL";
+    private static final String MARK_PUBLISHED = "UPDATE booking_outbox SET published_at = :publishedAt WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Returns the bookings that did not get all of their seats because another booking already sold some of them.
+     */
+    public List<BookingDTO> insertAll(List<BookingDTO> bookings) {
+        List<Object[]> bookingRows = new ArrayList<>(bookings.size());
+        List<Object[]> seatRows = new ArrayList<>(bookings.size() * 4);
+        List<Object[]> outboxRows = new ArrayList<>(bookings.size());
+        Timestamp now = Timestamp.from(Instant.now());
+        for (BookingDTO booking : bookings) {
+            String seats = booking.joinedSeats();
+            bookingRows.add(new Object[]{booking.bookingId(), booking.gameId(), booking.sectionId(), seats, booking.username(), booking.streamId(), Timestamp.from(booking.createdAt())});
+            for (int seat : booking.seats()) {
+                seatRows.add(new Object[]{booking.gameId(), booking.sectionId(), seat, booking.bookingId(), now});
+            }
+            outboxRows.add(new Object[]{booking.bookingId(), booking.gameId(), booking.sectionId(), seats, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOKING, bookingRows);
+        jdbcTemplate.batchUpdate(INSERT_SEAT, seatRows);
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, outboxRows);
+        return findConflicts(bookings);
+    }
+
+    /**
+     * Claims a batch of unpublished rows. Must run in a transaction, which holds the claim until it commits.
+     */
+    public List<OutboxRow> claimUnpublished(int limit) {
+        return jdbcTemplate.query(CLAIM_UNPUBLISHED, (rs, rowNum) -> new OutboxRow(
+                rs.getLong("id"),
+                rs.getLong("game_id"),
+                rs.getLong("section_id"),
+                rs.getString("seats")
+        ), limit);
+    }
+
+    public long countUnpublished() {
+        Long count = jdbcTemplate.queryForObject(COUNT_UNPUBLISHED, Long.class);
+        return count == null ? 0L : count;
+    }
+
+    public void markPublished(List<Long> ids) {
+        namedParameterJdbcTemplate.update(MARK_PUBLISHED, new MapSqlParameterSource()
+                .addValue("publishedAt", Timestamp.from(Instant.now()))
+                .addValue("ids", ids));
+    }
+
+    private List<BookingDTO> findConflicts(List<BookingDTO> bookings) {
+        Map<String, Integer> seatCounts = new HashMap<>(bookings.size() * 2);
+        namedParameterJdbcTemplate.query(COUNT_SEATS,
+                new MapSqlParameterSource("bookingIds", bookings.stream().map(BookingDTO::bookingId).toList()),
+                rs -> {
+                    seatCounts.put(rs.getString("booking_id"), rs.getInt("seat_count"));
+                });
+        return bookings.stream()
+                .filter(it -> seatCounts.getOrDefault(it.bookingId(), 0) < it.seats().length)
+                .toList();
+    }
+
+    public record OutboxRow(Long id, Long gameId, Long sectionId, String seats) {
+    }
+
+}
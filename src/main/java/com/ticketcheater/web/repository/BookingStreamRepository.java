@@ -0,0 +1,250 @@
+package com.ticketcheater.web.repository;
+
+import com.ticketcheater.web.dto.BookingDTO;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Log4j2
+@Repository
+public class BookingStreamRepository {
+
+    public static final String GROUP = "booking-writer";
+    private static final String STREAMS_KEY = "BOOKING:STREAMS";
+
+    // KEYS[1]: sold seats of the game, KEYS[2]: booking stream of the game, KEYS[3..]: one hold per seat.
+    // ARGV: holder, consumer group, booking id, game id, section id, seats, created at, then one sold member per seat.
+    // Turns the holds into a booking only when every seat is still held by the holder: marks the seats sold,
+    // drops the holds and appends the booking. A stream only comes into being here, together with its group, and an
+    // idle one waiting to expire is kept again. Returns {0, stream id, 1 when the stream has to be registered},
+    // or {position} of the first seat that was lost.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BOOK_SCRIPT = RedisScript.of("""
+            for i = 3, #KEYS do
+                if redis.call('GET', KEYS[i]) ~= ARGV[1] then
+                    return {i - 2}
+                end
+            end
+            for i = 3, #KEYS do
+                redis.call('SADD', KEYS[1], ARGV[i + 5])
+                redis.call('DEL', KEYS[i])
+            end
+            local unregistered = 0
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                redis.call('XGROUP', 'CREATE', KEYS[2], ARGV[2], '0', 'MKSTREAM')
+                unregistered = 1
+            elseif redis.call('PERSIST', KEYS[2]) == 1 then
+                unregistered = 1
+            end
+            local id = redis.call('XADD', KEYS[2], '*',
+                    'bookingId', ARGV[3], 'gameId', ARGV[4], 'sectionId', ARGV[5],
+                    'seats', ARGV[6], 'username', ARGV[1], 'createdAt', ARGV[7])
+            return {0, id, unregistered}
+            """, List.class);
+
+    // KEYS[1]: booking stream. ARGV: consumer group, retention cutoff, idle cutoff (epoch millis), retention millis.
+    // Trims acknowledged entries older than the retention but never one the group has yet to acknowledge, and lets a
+    // drained stream that has been idle since the cutoff expire after the retention.
+    // Returns {pending count, oldest unacknowledged id or '', 1 when the stream went idle}.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SETTLE_SCRIPT = RedisScript.of("""
+            local function older(a, b)
+                local am, as = string.match(a, '(%d+)-(%d+)')
+                local bm, bs = string.match(b, '(%d+)-(%d+)')
+                am, bm = tonumber(am), tonumber(bm)
+                return am < bm or (am == bm and tonumber(as) < tonumber(bs))
+            end
+            local pending = redis.call('XPENDING', KEYS[1], ARGV[1])
+            local oldest = pending[2]
+            local delivered = '0-0'
+            for _, group in ipairs(redis.call('XINFO', 'GROUPS', KEYS[1])) do
+                local name, id
+                for i = 1, #group, 2 do
+                    if group[i] == 'name' then
+                        name = group[i + 1]
+                    elseif group[i] == 'last-delivered-id' then
+                        id = group[i + 1]
+                    end
+                end
+                if name == ARGV[1] then
+                    delivered = id
+                end
+            end
+            if not oldest then
+                local unread = redis.call('XRANGE', KEYS[1], '(' .. delivered, '+', 'COUNT', 1)
+                if #unread > 0 then
+                    oldest = unread[1][1]
+                end
+            end
+            local minId = ARGV[2] .. '-0'
+            if oldest and older(oldest, minId) then
+                minId = oldest
+            end
+            redis.call('XTRIM', KEYS[1], 'MINID', minId)
+            if not oldest and tonumber(string.match(delivered, '(%d+)')) < tonumber(ARGV[3]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[4])
+                return {0, '', 1}
+            end
+            return {pending[1], oldest or '', 0}
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration retention;
+    private final Duration idleAfter;
+
+    public BookingStreamRepository(RedisTemplate<String, String> redisTemplate,
+                                   @Value("${booking.stream.retention:24h}") Duration retention,
+                                   @Value("${booking.stream.idle-after:10m}") Duration idleAfter) {
+        this.redisTemplate = redisTemplate;
+        this.retention = retention;
+        this.idleAfter = idleAfter;
+    }
+
+    public BookResult book(BookingDTO booking) {
+        String streamKey = getStreamKey(booking.gameId());
+        List<String> keys = new ArrayList<>(booking.seats().length + 2);
+        keys.add(SeatHoldRepository.getSoldKey(booking.gameId()));
+        keys.add(streamKey);
+        List<String> args = new ArrayList<>(booking.seats().length + 7);
+        args.add(booking.username());
+        args.add(GROUP);
+        args.add(booking.bookingId());
+        args.add(String.valueOf(booking.gameId()));
+        args.add(String.valueOf(booking.sectionId()));
+        args.add(booking.joinedSeats());
+        args.add(String.valueOf(booking.createdAt().toEpochMilli()));
+        for (int seat : booking.seats()) {
+            keys.add(SeatHoldRepository.getHoldKey(booking.gameId(), booking.sectionId(), seat));
+            args.add(SeatHoldRepository.getSoldMember(booking.sectionId(), seat));
+        }
+        List<?> result = redisTemplate.execute(BOOK_SCRIPT, keys, args.toArray());
+        if (result == null || result.isEmpty()) {
+            return new BookResult(null, 1);
+        }
+        int lost = ((Number) result.get(0)).intValue();
+        if (lost > 0) {
+            return new BookResult(null, lost);
+        }
+        if (((Number) result.get(2)).intValue() == 1) {
+            redisTemplate.opsForSet().add(STREAMS_KEY, streamKey);
+        }
+        return new BookResult(String.valueOf(result.get(1)), 0);
+    }
+
+    public Set<String> getStreamKeys() {
+        Set<String> keys = redisTemplate.opsForSet().members(STREAMS_KEY);
+        return keys == null ? Set.of() : keys;
+    }
+
+    /**
+     * Drops an idle stream from the ones the writers walk. A booking that revived the stream before the expiry check
+     * is registered again here, one that revives it afterwards registers it itself.
+     */
+    public void unregister(String streamKey) {
+        redisTemplate.opsForSet().remove(STREAMS_KEY, streamKey);
+        Long ttl = redisTemplate.getExpire(streamKey);
+        if (ttl != null && ttl == -1) {
+            redisTemplate.opsForSet().add(STREAMS_KEY, streamKey);
+        }
+    }
+
+    public List<MapRecord<String, Object, Object>> read(String streamKey, String consumer, int count) {
+        // read only has a varargs overload; a typed array avoids creating a generic one at the call site.
+        @SuppressWarnings("unchecked")
+        StreamOffset<String>[] offsets = new StreamOffset[]{StreamOffset.create(streamKey, ReadOffset.lastConsumed())};
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                Consumer.from(GROUP, consumer),
+                StreamReadOptions.empty().count(count),
+                offsets
+        );
+        return records == null ? List.of() : records;
+    }
+
+    /**
+     * Takes over entries another writer read but never acknowledged, typically because that node died mid-batch.
+     */
+    public List<MapRecord<String, Object, Object>> claimStale(String streamKey, String consumer, Duration minIdle, int count) {
+        PendingMessages pending = redisTemplate.opsForStream().pending(streamKey, GROUP, Range.unbounded(), count);
+        RecordId[] stale = pending.stream()
+                .filter(it -> it.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (stale.length == 0) {
+            return List.of();
+        }
+        log.warn("Claim {} stale bookings of {}", stale.length, streamKey);
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().claim(streamKey, GROUP, consumer, minIdle, stale);
+        return records == null ? List.of() : records;
+    }
+
+    public void acknowledge(String streamKey, List<String> ids) {
+        if (!ids.isEmpty()) {
+            redisTemplate.opsForStream().acknowledge(streamKey, GROUP, ids.toArray(String[]::new));
+        }
+    }
+
+    public List<MapRecord<String, Object, Object>> range(String streamKey, String fromId, boolean inclusive, int count) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(
+                streamKey,
+                Range.rightUnbounded(inclusive ? Range.Bound.inclusive(fromId) : Range.Bound.exclusive(fromId)),
+                Limit.limit().count(count)
+        );
+        return records == null ? List.of() : records;
+    }
+
+    /**
+     * Trims what the group acknowledged past the retention and reports what is left to persist. A stream that is
+     * drained and idle is set to expire and should be unregistered.
+     */
+    public StreamState settle(String streamKey) {
+        long now = System.currentTimeMillis();
+        List<?> result = redisTemplate.execute(SETTLE_SCRIPT, List.of(streamKey), GROUP,
+                String.valueOf(now - retention.toMillis()), String.valueOf(now - idleAfter.toMillis()),
+                String.valueOf(retention.toMillis()));
+        if (result == null || result.isEmpty()) {
+            return new StreamState(0, null, false);
+        }
+        String oldest = String.valueOf(result.get(1));
+        return new StreamState(
+                ((Number) result.get(0)).longValue(),
+                oldest.isEmpty() ? null : RecordId.of(oldest),
+                ((Number) result.get(2)).intValue() == 1
+        );
+    }
+
+    public static String getStreamKey(Long gameId) {
+        return "BOOKING:{" + gameId + "}";
+    }
+
+    public record BookResult(String streamId, int lostSeat) {
+
+        public boolean isBooked() {
+            return streamId != null;
+        }
+
+    }
+
+    /**
+     * @param oldestUnacknowledged oldest entry not yet persisted, or null when the stream is drained
+     */
+    public record StreamState(long pending, RecordId oldestUnacknowledged, boolean idle) {
+    }
+
+}
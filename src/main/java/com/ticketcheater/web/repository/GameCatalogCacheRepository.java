@@ -0,0 +1,190 @@
+package com.ticketcheater.web.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketcheater.web.dto.GamePageDTO;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.event.GameChangedEvent;
+import com.ticketcheater.web.event.GamesImportedEvent;
+import com.ticketcheater.web.utils.NodeIdentifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Log4j2
+@Repository
+public class GameCatalogCacheRepository implements MessageListener {
+
+    public static final String ALL_SCOPE = "ALL";
+    static final String VERSION_CHANNEL = "CATALOG:VERSION";
+    public static final String GAME_CHANNEL = "CATALOG:GAME";
+    public static final String RELOAD_CHANNEL = "CATALOG:RELOAD";
+    private static final String MESSAGE_DELIMITER = "|";
+    private static final String SCOPE_DELIMITER = ",";
+    public static final int PAGE_SIZE = 5;
+    public static final Sort PAGE_SORT = Sort.by(Sort.Direction.ASC, "startedAt");
+    private static final int CACHED_PAGES = 5;
+
+    // KEYS: version counter per scope, ARGV: channel and the changed scopes joined by a comma.
+    // Bumps every scope in one step so readers never see a half-applied write.
+    private static final RedisScript<Long> INCREASE_VERSIONS_SCRIPT = RedisScript.of("""
+            for _, key in ipairs(KEYS) do
+                redis.call('INCR', key)
+            end
+            redis.call('PUBLISH', ARGV[1], ARGV[2])
+            return #KEYS
+            """, Long.class);
+
+    private final RedisTemplate<String, GamePageDTO> gamePageRedisTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, Long> versionCache;
+    private final Cache<String, GamePageDTO> localCache;
+    private final Duration pageTtl;
+
+    public GameCatalogCacheRepository(RedisTemplate<String, GamePageDTO> gamePageRedisTemplate,
+                                      RedisTemplate<String, String> redisTemplate,
+                                      RedisMessageListenerContainer listenerContainer,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${catalog-cache.ttl:10m}") Duration pageTtl,
+                                      @Value("${catalog-cache.version.local-ttl:5s}") Duration versionLocalTtl,
+                                      @Value("${catalog-cache.local.maximum-size:1000}") long localMaximumSize,
+                                      @Value("${catalog-cache.local.ttl:1m}") Duration localTtl) {
+        this.gamePageRedisTemplate = gamePageRedisTemplate;
+        this.redisTemplate = redisTemplate;
+        this.pageTtl = pageTtl;
+        this.versionCache = Caffeine.newBuilder()
+                .maximumSize(Category.values().length + 1)
+                .expireAfterWrite(versionLocalTtl)
+                .build();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "catalog-local");
+        listenerContainer.addMessageListener(this, new ChannelTopic(VERSION_CHANNEL));
+    }
+
+    public long getVersion(String scope) {
+        return versionCache.get(scope, it -> {
+            String version = redisTemplate.opsForValue().get(getVersionKey(it));
+            return version == null ? 0L : Long.parseLong(version);
+        });
+    }
+
+    public void increaseVersions(Collection<String> scopes) {
+        List<String> keys = scopes.stream().map(GameCatalogCacheRepository::getVersionKey).toList();
+        log.info("Increase Catalog Version to Redis {}", scopes);
+        redisTemplate.execute(INCREASE_VERSIONS_SCRIPT, keys, VERSION_CHANNEL, String.join(SCOPE_DELIMITER, scopes));
+        versionCache.invalidateAll(scopes);
+    }
+
+    public void publishGameChanged(Long gameId) {
+        redisTemplate.convertAndSend(GAME_CHANNEL, NodeIdentifier.VALUE + MESSAGE_DELIMITER + gameId);
+    }
+
+    public void publishReload() {
+        redisTemplate.convertAndSend(RELOAD_CHANNEL, NodeIdentifier.VALUE);
+    }
+
+    public static boolean isRemoteReload(Message message) {
+        return new String(message.getChannel(), StandardCharsets.UTF_8).equals(RELOAD_CHANNEL)
+                && !new String(message.getBody(), StandardCharsets.UTF_8).equals(NodeIdentifier.VALUE);
+    }
+
+    public static Optional<Long> parseGameChanged(String message) {
+        int delimiter = message.indexOf(MESSAGE_DELIMITER);
+        if (delimiter < 0 || message.substring(0, delimiter).equals(NodeIdentifier.VALUE)) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.parseLong(message.substring(delimiter + 1)));
+    }
+
+    public Optional<GamePageDTO> getPage(String key) {
+        GamePageDTO local = localCache.getIfPresent(key);
+        if (local != null) {
+            return Optional.of(local);
+        }
+        GamePageDTO data = gamePageRedisTemplate.opsForValue().get(key);
+        if (data != null) {
+            localCache.put(key, data);
+        }
+        return Optional.ofNullable(data);
+    }
+
+    public void setPage(String key, GamePageDTO page) {
+        log.info("Set Catalog Page to Redis {}", key);
+        gamePageRedisTemplate.opsForValue().set(key, page, pageTtl);
+        localCache.put(key, page);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        Set<String> scopes = new LinkedHashSet<>();
+        event.categories().forEach(it -> scopes.add(scope(it)));
+        scopes.add(ALL_SCOPE);
+        increaseVersions(scopes);
+        if (event.game().id() != null) {
+            publishGameChanged(event.game().id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesImported(GamesImportedEvent event) {
+        Set<String> scopes = new LinkedHashSet<>();
+        event.categories().forEach(it -> scopes.add(scope(it)));
+        scopes.add(ALL_SCOPE);
+        increaseVersions(scopes);
+        publishReload();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        versionCache.invalidateAll(Arrays.asList(body.split(SCOPE_DELIMITER)));
+    }
+
+    public static String scope(Category category) {
+        return category.name();
+    }
+
+    /**
+     * Only the first pages of the default listing are cached, so clients cannot mint keys with arbitrary
+     * page numbers, sizes or sorts.
+     */
+    public static boolean isCacheable(Pageable pageable) {
+        return pageable.getPageNumber() < CACHED_PAGES
+                && pageable.getPageSize() == PAGE_SIZE
+                && PAGE_SORT.equals(pageable.getSort());
+    }
+
+    public static String getPageKey(String scope, long version, Pageable pageable) {
+        String sort = String.valueOf(pageable.getSort()).replace(" ", "");
+        return "CATALOG:PAGE:" + scope + ":" + version + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + sort;
+    }
+
+    private static String getVersionKey(String scope) {
+        return "CATALOG:VERSION:" + scope;
+    }
+
+}
@@ -1,11 +1,74 @@
 package com.ticketcheater.web.repository;
 
+import com.ticketcheater.web.dto.GameSummaryDTO;
 import com.ticketcheater.web.entity.Category;
 import com.ticketcheater.web.entity.Game;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GameRepository extends JpaRepository<Game, Long> {
     Page<Game> findAllByCategory(Pageable pageable, Category category);
+
+    @Query(value = "SELECT new com.ticketcheater.web.dto.GameSummaryDTO(g.id, g.category, g.title, g.home, g.away, g.place, g.startedAt, g.version) " +
+            "FROM com.ticketcheater.web.entity.Game g",
+            countQuery = "SELECT count(g) FROM com.ticketcheater.web.entity.Game g")
+    Page<GameSummaryDTO> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.ticketcheater.web.dto.GameSummaryDTO(g.id, g.category, g.title, g.home, g.away, g.place, g.startedAt, g.version) " +
+            "FROM com.ticketcheater.web.entity.Game g WHERE g.category = :category",
+            countQuery = "SELECT count(g) FROM com.ticketcheater.web.entity.Game g WHERE g.category = :category")
+    Page<GameSummaryDTO> findAllSummariesByCategory(@Param("category") Category category, Pageable pageable);
+
+    @Query("SELECT new com.ticketcheater.web.dto.GameSummaryDTO(g.id, g.category, g.title, g.home, g.away, g.place, g.startedAt, g.version) " +
+            "FROM com.ticketcheater.web.entity.Game g WHERE g.startedAt > :startedAt")
+    List<GameSummaryDTO> findAllSummariesStartingAfter(@Param("startedAt") Timestamp startedAt);
+
+    @Query("SELECT new com.ticketcheater.web.dto.GameSummaryDTO(g.id, g.category, g.title, g.home, g.away, g.place, g.startedAt, g.version) " +
+            "FROM com.ticketcheater.web.entity.Game g")
+    List<GameSummaryDTO> findAllSummaryList();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.ticketcheater.web.dto.GameSummaryDTO(g.id, g.category, g.title, g.home, g.away, g.place, g.startedAt, g.version) " +
+            "FROM com.ticketcheater.web.entity.Game g WHERE g.id > :afterId " +
+            "AND (:category IS NULL OR g.category = :category) " +
+            "AND (:from IS NULL OR g.startedAt >= :from) " +
+            "AND (:to IS NULL OR g.startedAt < :to) " +
+            "ORDER BY g.id")
+    Stream<GameSummaryDTO> streamSummaries(@Param("category") Category category, @Param("from") Timestamp from, @Param("to") Timestamp to, @Param("afterId") Long afterId);
+
+    @Query("SELECT new com.ticketcheater.web.dto.GameSummaryDTO(g.id, g.category, g.title, g.home, g.away, g.place, g.startedAt, g.version) " +
+            "FROM com.ticketcheater.web.entity.Game g WHERE g.id = :id")
+    Optional<GameSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    @Query(value = "SELECT * FROM game g " +
+            "ORDER BY g.started_at, g.id LIMIT :limit", nativeQuery = true)
+    List<Game> findFirstSlice(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM game g " +
+            "WHERE g.started_at > :startedAt OR (g.started_at = :startedAt AND g.id > :id) " +
+            "ORDER BY g.started_at, g.id LIMIT :limit", nativeQuery = true)
+    List<Game> findSliceAfter(@Param("startedAt") Timestamp startedAt, @Param("id") Long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM game g WHERE g.category = :category " +
+            "ORDER BY g.started_at, g.id LIMIT :limit", nativeQuery = true)
+    List<Game> findFirstSliceByCategory(@Param("category") String category, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM game g WHERE g.category = :category " +
+            "AND (g.started_at > :startedAt OR (g.started_at = :startedAt AND g.id > :id)) " +
+            "ORDER BY g.started_at, g.id LIMIT :limit", nativeQuery = true)
+    List<Game> findSliceByCategoryAfter(@Param("category") String category, @Param("startedAt") Timestamp startedAt, @Param("id") Long id, @Param("limit") int limit);
 }
@@ -0,0 +1,10 @@
+package com.ticketcheater.web.repository;
+
+import com.ticketcheater.web.entity.GameSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface GameSeatRepository extends JpaRepository<GameSeat, Long> {
+    List<GameSeat> findAllByGameId(Long gameId);
+}
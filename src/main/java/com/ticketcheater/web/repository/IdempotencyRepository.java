@@ -0,0 +1,119 @@
+package com.ticketcheater.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+
+    // KEYS[1]: idempotency record, ARGV[1]: owner token, ARGV[2]: in-flight ttl in ms.
+    // Claims the key for the caller when nobody has used it yet and returns an empty list,
+    // otherwise returns every field of the record so the caller can tell in-flight from completed.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BEGIN_SCRIPT = RedisScript.of("""
+            if redis.call('HSETNX', KEYS[1], 'owner', ARGV[1]) == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return {}
+            end
+            return redis.call('HGETALL', KEYS[1])
+            """, List.class);
+
+    // KEYS[1]: idempotency record, ARGV[1]: owner token, ARGV[2]: in-flight ttl in ms.
+    // Keeps the in-flight marker alive while its owner is still running the request.
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], 'owner') == ARGV[1] and redis.call('HEXISTS', KEYS[1], 'status') == 0 then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS[1]: idempotency record, ARGV: owner token, ttl in ms, request hash, status, content type, body.
+    // Stores the response only while the caller still owns the in-flight marker.
+    private static final RedisScript<Long> COMPLETE_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], 'owner') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'requestHash', ARGV[3], 'status', ARGV[4], 'contentType', ARGV[5], 'body', ARGV[6])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]: idempotency record, ARGV[1]: owner token.
+    // Drops the in-flight marker of a request that failed so that a retry can run it again.
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], 'owner') == ARGV[1] and redis.call('HEXISTS', KEYS[1], 'status') == 0 then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @SuppressWarnings("unchecked")
+    public Claim begin(String key, String token, Duration inFlightTtl) {
+        List<Object> fields = redisTemplate.execute(BEGIN_SCRIPT, List.of(getKey(key)), token, String.valueOf(inFlightTtl.toMillis()));
+        if (fields == null || fields.isEmpty()) {
+            return Claim.ACQUIRED;
+        }
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            record.put(String.valueOf(fields.get(i)), String.valueOf(fields.get(i + 1)));
+        }
+        if (!record.containsKey("status")) {
+            return Claim.IN_FLIGHT;
+        }
+        return new Claim(State.COMPLETED, record.get("requestHash"), new StoredResponse(
+                Integer.parseInt(record.get("status")),
+                record.get("contentType"),
+                Base64.getDecoder().decode(record.get("body"))
+        ));
+    }
+
+    public boolean renew(String key, String token, Duration inFlightTtl) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(getKey(key)), token, String.valueOf(inFlightTtl.toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    public boolean complete(String key, String token, String requestHash, StoredResponse response, Duration ttl) {
+        Long stored = redisTemplate.execute(COMPLETE_SCRIPT, List.of(getKey(key)),
+                token,
+                String.valueOf(ttl.toMillis()),
+                requestHash,
+                String.valueOf(response.status()),
+                response.contentType() == null ? "" : response.contentType(),
+                Base64.getEncoder().encodeToString(response.body()));
+        return stored != null && stored == 1L;
+    }
+
+    public void release(String key, String token) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(getKey(key)), token);
+    }
+
+    private String getKey(String key) {
+        return "IDEMPOTENCY:" + key;
+    }
+
+    public enum State {
+        ACQUIRED, IN_FLIGHT, COMPLETED
+    }
+
+    public record Claim(State state, String requestHash, StoredResponse response) {
+
+        public static final Claim ACQUIRED = new Claim(State.ACQUIRED, null, null);
+        public static final Claim IN_FLIGHT = new Claim(State.IN_FLIGHT, null, null);
+
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.ticketcheater.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class RateLimitRepository {
+
+    // KEYS: one sliding window per limited dimension, ARGV: member followed by (limit, windowMs) pairs.
+    // Records the request in every window only when all of them have room, and otherwise
+    // returns how many milliseconds remain until the fullest window frees a slot.
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local retryAfter = 0
+            for i, key in ipairs(KEYS) do
+                local limit = tonumber(ARGV[i * 2])
+                local window = tonumber(ARGV[i * 2 + 1])
+                redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+                if redis.call('ZCARD', key) >= limit then
+                    local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+                    retryAfter = math.max(retryAfter, tonumber(oldest[2]) + window - now)
+                end
+            end
+            if retryAfter > 0 then
+                return retryAfter
+            end
+            for i, key in ipairs(KEYS) do
+                redis.call('ZADD', key, now, ARGV[1])
+                redis.call('PEXPIRE', key, tonumber(ARGV[i * 2 + 1]))
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public Duration acquire(List<Window> windows) {
+        List<String> keys = new ArrayList<>(windows.size());
+        List<String> args = new ArrayList<>(windows.size() * 2 + 1);
+        args.add(UUID.randomUUID().toString());
+        for (Window window : windows) {
+            keys.add(getKey(window.key()));
+            args.add(String.valueOf(window.limit()));
+            args.add(String.valueOf(window.window().toMillis()));
+        }
+        Long retryAfterMs = redisTemplate.execute(SLIDING_WINDOW_SCRIPT, keys, args.toArray());
+        return Duration.ofMillis(retryAfterMs == null ? 0 : retryAfterMs);
+    }
+
+    private String getKey(String key) {
+        return "RATELIMIT:" + key;
+    }
+
+    public record Window(String key, int limit, Duration window) {
+    }
+
+}
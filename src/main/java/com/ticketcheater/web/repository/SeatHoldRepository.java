@@ -0,0 +1,136 @@
+package com.ticketcheater.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class SeatHoldRepository {
+
+    // KEYS[1]: sold seats of the game, KEYS[2..]: one hold per seat, ARGV: holder, ttl in ms, then one sold member per seat.
+    // Holds every seat or none of them. Returns 0 when held, otherwise the 1-based position of the first seat
+    // that is sold or held by someone else. Seats the holder already has are re-held with a fresh ttl.
+    private static final RedisScript<Long> HOLD_SCRIPT = RedisScript.of("""
+            for i = 2, #KEYS do
+                if redis.call('SISMEMBER', KEYS[1], ARGV[i + 1]) == 1 then
+                    return i - 1
+                end
+                local owner = redis.call('GET', KEYS[i])
+                if owner and owner ~= ARGV[1] then
+                    return i - 1
+                end
+            end
+            for i = 2, #KEYS do
+                redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS: one hold per seat, ARGV: holder, ttl in ms.
+    // Extends every hold only when all of them still belong to the holder, otherwise returns the 1-based position of the first lost seat.
+    private static final RedisScript<Long> EXTEND_SCRIPT = RedisScript.of("""
+            for i, key in ipairs(KEYS) do
+                if redis.call('GET', key) ~= ARGV[1] then
+                    return i
+                end
+            end
+            for _, key in ipairs(KEYS) do
+                redis.call('PEXPIRE', key, ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS: one hold per seat, ARGV[1]: holder. Deletes the holds that belong to the holder and returns how many were deleted.
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            local released = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('GET', key) == ARGV[1] then
+                    redis.call('DEL', key)
+                    released = released + 1
+                end
+            end
+            return released
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public int hold(Long gameId, Long sectionId, int[] seats, String holder, Duration ttl) {
+        List<String> keys = new ArrayList<>(seats.length + 1);
+        List<String> args = new ArrayList<>(seats.length + 2);
+        keys.add(getSoldKey(gameId));
+        args.add(holder);
+        args.add(String.valueOf(ttl.toMillis()));
+        for (int seat : seats) {
+            keys.add(getHoldKey(gameId, sectionId, seat));
+            args.add(getSoldMember(sectionId, seat));
+        }
+        Long result = redisTemplate.execute(HOLD_SCRIPT, keys, args.toArray());
+        return result == null ? 0 : result.intValue();
+    }
+
+    public int extend(Long gameId, Long sectionId, int[] seats, String holder, Duration ttl) {
+        Long result = redisTemplate.execute(EXTEND_SCRIPT, getHoldKeys(gameId, sectionId, seats), holder, String.valueOf(ttl.toMillis()));
+        return result == null ? 0 : result.intValue();
+    }
+
+    public int release(Long gameId, Long sectionId, int[] seats, String holder) {
+        Long result = redisTemplate.execute(RELEASE_SCRIPT, getHoldKeys(gameId, sectionId, seats), holder);
+        return result == null ? 0 : result.intValue();
+    }
+
+    public void markSold(Long gameId, Long sectionId, int[] seats) {
+        String[] members = new String[seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            members[i] = getSoldMember(sectionId, seats[i]);
+        }
+        redisTemplate.opsForSet().add(getSoldKey(gameId), members);
+    }
+
+    /**
+     * Sold seats of the game by section, including bookings not yet persisted to MySQL.
+     */
+    public Map<Long, List<Integer>> findSold(Long gameId) {
+        Set<String> members = redisTemplate.opsForSet().members(getSoldKey(gameId));
+        Map<Long, List<Integer>> sold = new HashMap<>();
+        if (members == null) {
+            return sold;
+        }
+        for (String member : members) {
+            int index = member.indexOf(':');
+            sold.computeIfAbsent(Long.valueOf(member.substring(0, index)), it -> new ArrayList<>())
+                    .add(Integer.valueOf(member.substring(index + 1)));
+        }
+        return sold;
+    }
+
+    private List<String> getHoldKeys(Long gameId, Long sectionId, int[] seats) {
+        List<String> keys = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            keys.add(getHoldKey(gameId, sectionId, seat));
+        }
+        return keys;
+    }
+
+    // The hash tag keeps every key of a game in one cluster slot so a script may touch all of them.
+    static String getHoldKey(Long gameId, Long sectionId, int seat) {
+        return "HOLD:{" + gameId + "}:" + sectionId + ":" + seat;
+    }
+
+    static String getSoldKey(Long gameId) {
+        return "SOLD:{" + gameId + "}";
+    }
+
+    static String getSoldMember(Long sectionId, int seat) {
+        return sectionId + ":" + seat;
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.ticketcheater.web.repository;
+
+import com.ticketcheater.web.entity.Section;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SectionRepository extends JpaRepository<Section, Long> {
+    List<Section> findAllByPlaceOrderById(String place);
+}
@@ -1,10 +1,16 @@
 package com.ticketcheater.web.repository;
 
+import com.ticketcheater.web.utils.HashUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Log4j2
@@ -12,22 +18,73 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class TokenCacheRepository {
 
+    // KEYS[1]: session hash of the user, ARGV: session id, presented token hash, rotated token hash, ttl in ms.
+    // Returns 1 when rotated, 0 when an already rotated token is replayed (the session is revoked), -1 when absent.
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of("""
+            local current = redis.call('HGET', KEYS[1], ARGV[1])
+            if not current then
+                return -1
+            end
+            if current ~= ARGV[2] then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
 
-    public void setToken(String username, String token, long timeMs) {
-        log.info("Set Refresh Token to Redis {}({})", token, username);
-        redisTemplate.opsForValue().set(username, token, timeMs, TimeUnit.MILLISECONDS);
+    public void setSession(String username, String sessionId, String refreshToken, long timeMs) {
+        log.info("Set Refresh Token Session to Redis {}({})", sessionId, username);
+        String key = getKey(username);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                stringOperations.opsForHash().put(key, sessionId, HashUtils.sha256(refreshToken));
+                stringOperations.expire(key, timeMs, TimeUnit.MILLISECONDS);
+                return null;
+            }
+        });
+    }
+
+    public SessionRotation rotateSession(String username, String sessionId, String presentedToken,
+                                         String rotatedToken, long timeMs) {
+        Long result = redisTemplate.execute(
+                ROTATE_SCRIPT,
+                List.of(getKey(username)),
+                sessionId,
+                HashUtils.sha256(presentedToken),
+                HashUtils.sha256(rotatedToken),
+                String.valueOf(timeMs)
+        );
+        log.info("Rotate Refresh Token Session to Redis {}({}) result {}", sessionId, username, result);
+        if (result == null || result < 0) return SessionRotation.EXPIRED;
+        if (result == 0) return SessionRotation.REUSED;
+        return SessionRotation.ROTATED;
+    }
+
+    public void deleteSession(String username, String sessionId) {
+        log.info("Delete Refresh Token Session to Redis {}({})", sessionId, username);
+        redisTemplate.opsForHash().delete(getKey(username), sessionId);
+    }
+
+    public void deleteAllSessions(String username) {
+        log.info("Delete All Refresh Token Sessions to Redis ({})", username);
+        redisTemplate.delete(getKey(username));
     }
 
-    public String getToken(String username) {
-        String refreshToken = redisTemplate.opsForValue().get(username);
-        log.info("Get Refresh Token to Redis {}({})", refreshToken, username);
-        return refreshToken;
+    private String getKey(String username) {
+        return "REFRESH:" + username;
     }
 
-    public void deleteToken(String username) {
-        log.info("Delete Refresh Token to Redis ({})", username);
-        redisTemplate.opsForValue().getAndDelete(username);
+    public enum SessionRotation {
+        ROTATED,
+        REUSED,
+        EXPIRED
     }
 
 }
@@ -0,0 +1,50 @@
+package com.ticketcheater.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Log4j2
+@Repository
+@RequiredArgsConstructor
+public class TokenDenylistRepository {
+
+    public static final String REVOCATION_CHANNEL = "DENYLIST:REVOKED";
+    private static final String KEY = "DENYLIST:TOKENS";
+    private static final int PAGE_SIZE = 1000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public void revoke(String tokenId, Duration remainingLifetime) {
+        log.info("Set Revoked Token to Redis ({})", tokenId);
+        redisTemplate.opsForZSet().add(KEY, tokenId, Instant.now().plus(remainingLifetime).toEpochMilli());
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        Double expiresAt = redisTemplate.opsForZSet().score(KEY, tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void forEachRevoked(Consumer<String> consumer) {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().removeRangeByScore(KEY, Double.NEGATIVE_INFINITY, now);
+        long offset = 0;
+        Set<String> page;
+        do {
+            page = redisTemplate.opsForZSet().rangeByScore(KEY, now, Double.POSITIVE_INFINITY, offset, PAGE_SIZE);
+            if (page == null) {
+                return;
+            }
+            page.forEach(consumer);
+            offset += page.size();
+        } while (page.size() == PAGE_SIZE);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.ticketcheater.web.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketcheater.web.event.UserInvalidatedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+@Log4j2
+@Repository
+public class TokenVersionRepository {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, Long> localCache;
+
+    public TokenVersionRepository(RedisTemplate<String, String> redisTemplate,
+                                  @Value("${jwt.token-version.local-ttl:10s}") Duration localTtl) {
+        this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    public long getVersion(String username) {
+        return localCache.get(username, it -> {
+            String version = redisTemplate.opsForValue().get(getKey(it));
+            return version == null ? 0L : Long.parseLong(version);
+        });
+    }
+
+    public long increaseVersion(String username) {
+        Long version = redisTemplate.opsForValue().increment(getKey(username));
+        log.info("Increase Token Version to Redis {}({})", version, username);
+        localCache.invalidate(username);
+        return version == null ? 0L : version;
+    }
+
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        localCache.invalidate(event.username());
+    }
+
+    private String getKey(String username) {
+        return "TOKENVERSION:" + username;
+    }
+
+}
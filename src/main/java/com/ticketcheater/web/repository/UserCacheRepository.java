@@ -1,37 +1,183 @@
 package com.ticketcheater.web.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ticketcheater.web.dto.UserDTO;
-import lombok.RequiredArgsConstructor;
+import com.ticketcheater.web.event.UserInvalidatedEvent;
+import com.ticketcheater.web.event.UserSignedUpEvent;
+import com.ticketcheater.web.utils.ClassUtils;
+import com.ticketcheater.web.utils.NodeIdentifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Log4j2
 @Repository
-@RequiredArgsConstructor
-public class UserCacheRepository {
+public class UserCacheRepository implements MessageListener {
+
+    private static final Duration USER_CACHE_TTL = Duration.ofDays(1);
+    private static final String INVALIDATION_CHANNEL = "USERDTO:INVALIDATE";
+    private static final String MESSAGE_DELIMITER = "|";
 
     private final RedisTemplate<String, UserDTO> userRedisTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, CachedUser> localCache;
+    private final Cache<String, Boolean> missingLocalCache;
+    private final Duration missingTtl;
 
-    private static final Duration USER_CACHE_TTL = Duration.ofDays(1);
+    public UserCacheRepository(RedisTemplate<String, UserDTO> userRedisTemplate,
+                               RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${user-cache.local.maximum-size:10000}") long localMaximumSize,
+                               @Value("${user-cache.local.ttl:30s}") Duration localTtl,
+                               @Value("${user-cache.missing-ttl:1m}") Duration missingTtl) {
+        this.userRedisTemplate = userRedisTemplate;
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        this.missingTtl = missingTtl;
+        this.missingLocalCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl.compareTo(missingTtl) < 0 ? localTtl : missingTtl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "user-local");
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
 
+    /**
+     * Caches a user as read from the database. Peers are not notified since their copies are the same row;
+     * anything that changes a user must go through {@link #deleteUser(String)} instead.
+     */
     public void setUser(UserDTO user) {
         String key = getKey(user.getUsername());
         log.info("Set User to Redis {}({})", key, user);
         userRedisTemplate.opsForValue().set(key, user, USER_CACHE_TTL);
+        localCache.put(user.getUsername(), new CachedUser(user, Instant.now().plus(USER_CACHE_TTL)));
     }
 
     public Optional<UserDTO> getUser(String username) {
-        UserDTO data = userRedisTemplate.opsForValue().get(getKey(username));
+        CachedUser local = localCache.getIfPresent(username);
+        if (local != null) {
+            return Optional.of(local.user());
+        }
+
+        if (missingLocalCache.getIfPresent(username) != null) {
+            return Optional.empty();
+        }
+
+        String key = getKey(username);
+        List<Object> results = userRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, UserDTO> userOperations = (RedisOperations<String, UserDTO>) operations;
+                userOperations.opsForValue().get(key);
+                userOperations.getExpire(key, TimeUnit.MILLISECONDS);
+                userOperations.hasKey(getMissingKey(username));
+                return null;
+            }
+        });
+        UserDTO data = ClassUtils.getSafeCastInstance(results.get(0), UserDTO.class);
         log.info("Get User from Redis {}", data);
+        if (data != null) {
+            Long ttlMs = ClassUtils.getSafeCastInstance(results.get(1), Long.class);
+            Instant expiresAt = ttlMs == null || ttlMs < 0 ? Instant.MAX : Instant.now().plusMillis(ttlMs);
+            localCache.put(username, new CachedUser(data, expiresAt));
+        } else if (Boolean.TRUE.equals(results.get(2))) {
+            missingLocalCache.put(username, Boolean.TRUE);
+        }
         return Optional.ofNullable(data);
     }
 
+    public boolean isMissing(String username) {
+        return missingLocalCache.getIfPresent(username) != null;
+    }
+
+    public void setMissing(String username) {
+        log.info("Set Missing User to Redis ({})", username);
+        redisTemplate.opsForValue().set(getMissingKey(username), "1", missingTtl);
+        missingLocalCache.put(username, Boolean.TRUE);
+    }
+
+    private void deleteMissing(String username) {
+        log.info("Delete Missing User from Redis ({})", username);
+        redisTemplate.delete(getMissingKey(username));
+        evictLocal(username);
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(username));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSignedUp(UserSignedUpEvent event) {
+        deleteMissing(event.username());
+    }
+
+    public boolean isExpiringWithin(String username, Duration duration) {
+        CachedUser local = localCache.getIfPresent(username);
+        return local != null && local.expiresAt().isBefore(Instant.now().plus(duration));
+    }
+
+    public void deleteUser(String username) {
+        log.info("Delete User from Redis ({})", username);
+        userRedisTemplate.delete(getKey(username));
+        evictLocal(username);
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(username));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int delimiter = body.indexOf(MESSAGE_DELIMITER);
+        if (delimiter < 0 || body.substring(0, delimiter).equals(NodeIdentifier.VALUE)) {
+            return;
+        }
+        evictLocal(body.substring(delimiter + 1));
+    }
+
+    private void evictLocal(String username) {
+        localCache.invalidate(username);
+        missingLocalCache.invalidate(username);
+        eventPublisher.publishEvent(new UserInvalidatedEvent(username));
+    }
+
+    private static String invalidationMessage(String username) {
+        return NodeIdentifier.VALUE + MESSAGE_DELIMITER + username;
+    }
+
     private String getKey(String username) {
         return "USERDTO:" + username;
     }
 
+    private String getMissingKey(String username) {
+        return "USERDTO:MISSING:" + username;
+    }
+
+    private record CachedUser(UserDTO user, Instant expiresAt) {
+    }
+
 }
@@ -2,9 +2,14 @@ package com.ticketcheater.web.repository;
 
 import com.ticketcheater.web.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Query(value = "SELECT username FROM `user`", nativeQuery = true)
+    List<String> findAllUsernames();
 }
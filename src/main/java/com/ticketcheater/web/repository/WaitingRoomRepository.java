@@ -0,0 +1,114 @@
+package com.ticketcheater.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Log4j2
+@Repository
+@RequiredArgsConstructor
+public class WaitingRoomRepository {
+
+    private static final String ACTIVE_KEY = "QUEUE:ACTIVE";
+
+    // KEYS[1]: waiting users by sequence, KEYS[2]: sequence, ARGV[1]: username.
+    // Returns the sequence of the user, handing out the next one only on the first entry.
+    private static final RedisScript<Long> ENTER_SCRIPT = RedisScript.of("""
+            local sequence = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if sequence then
+                return tonumber(sequence)
+            end
+            sequence = redis.call('INCR', KEYS[2])
+            redis.call('ZADD', KEYS[1], sequence, ARGV[1])
+            return sequence
+            """, Long.class);
+
+    // KEYS[1]: admission state (rate, admitted, at), KEYS[2]: sequence.
+    // Leaky bucket: moves the admitted pointer forward by rate per elapsed second, never past the last sequence
+    // handed out. The fractional remainder carries over, and an idle queue does not bank admissions for later.
+    // Returns {admitted, last sequence, rate}, or an empty list when the waiting room is closed.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADMIT_SCRIPT = RedisScript.of("""
+            local rate = tonumber(redis.call('HGET', KEYS[1], 'rate'))
+            if not rate then
+                return {}
+            end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local admitted = tonumber(redis.call('HGET', KEYS[1], 'admitted') or '0')
+            local at = tonumber(redis.call('HGET', KEYS[1], 'at') or now)
+            local tail = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local leaked = math.floor((now - at) * rate / 1000)
+            if leaked > 0 then
+                admitted = math.min(admitted + leaked, tail)
+                at = at + math.floor(leaked * 1000 / rate)
+            end
+            if admitted >= tail then
+                at = now
+            end
+            redis.call('HSET', KEYS[1], 'admitted', admitted, 'at', at)
+            return {admitted, tail, rate}
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public void open(Long gameId, int ratePerSecond) {
+        log.info("Open waiting room of game {} admitting {}/s", gameId, ratePerSecond);
+        redisTemplate.opsForHash().put(getStateKey(gameId), "rate", String.valueOf(ratePerSecond));
+        redisTemplate.opsForSet().add(ACTIVE_KEY, String.valueOf(gameId));
+    }
+
+    public void close(Long gameId) {
+        log.info("Close waiting room of game {}", gameId);
+        redisTemplate.opsForSet().remove(ACTIVE_KEY, String.valueOf(gameId));
+        redisTemplate.delete(List.of(getQueueKey(gameId), getSequenceKey(gameId), getStateKey(gameId)));
+    }
+
+    public Set<String> getActiveGameIds() {
+        Set<String> gameIds = redisTemplate.opsForSet().members(ACTIVE_KEY);
+        return gameIds == null ? Set.of() : gameIds;
+    }
+
+    public boolean isActive(Long gameId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(ACTIVE_KEY, String.valueOf(gameId)));
+    }
+
+    public long enter(Long gameId, String username) {
+        Long sequence = redisTemplate.execute(ENTER_SCRIPT, List.of(getQueueKey(gameId), getSequenceKey(gameId)), username);
+        return sequence == null ? 0L : sequence;
+    }
+
+    public Optional<Admission> admit(Long gameId) {
+        List<?> result = redisTemplate.execute(ADMIT_SCRIPT, List.of(getStateKey(gameId), getSequenceKey(gameId)));
+        if (result == null || result.size() < 3) {
+            return Optional.empty();
+        }
+        return Optional.of(new Admission(
+                ((Number) result.get(0)).longValue(),
+                ((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).intValue()
+        ));
+    }
+
+    private String getQueueKey(Long gameId) {
+        return "QUEUE:{" + gameId + "}";
+    }
+
+    private String getSequenceKey(Long gameId) {
+        return "QUEUE:{" + gameId + "}:SEQ";
+    }
+
+    private String getStateKey(Long gameId) {
+        return "QUEUE:{" + gameId + "}:STATE";
+    }
+
+    public record Admission(long admitted, long tail, int rate) {
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.BookingDTO;
+import com.ticketcheater.web.repository.BookingJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes every persisted booking from the outbox so all nodes mark its seats sold in their local inventory.
+ * Rows are marked published only after the message went out, and applying a sold seat twice is harmless.
+ * Every node runs the relay; each batch is claimed with row locks so nodes publish disjoint rows.
+ */
+@Log4j2
+@Component
+public class BookingOutboxRelay implements MessageListener {
+
+    static final String SOLD_CHANNEL = "BOOKING:SOLD";
+    private static final String MESSAGE_DELIMITER = "|";
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final AtomicLong unpublished = new AtomicLong();
+
+    public BookingOutboxRelay(BookingJdbcRepository bookingJdbcRepository,
+                              SeatInventoryService seatInventoryService,
+                              RedisTemplate<String, String> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${booking.outbox.batch-size:500}") int batchSize) {
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        Gauge.builder("booking.outbox.unpublished", unpublished, AtomicLong::get).register(meterRegistry);
+        listenerContainer.addMessageListener(this, new ChannelTopic(SOLD_CHANNEL));
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.interval:500ms}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+            unpublished.set(bookingJdbcRepository.countUnpublished());
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay booking outbox {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<BookingJdbcRepository.OutboxRow> rows = bookingJdbcRepository.claimUnpublished(batchSize);
+        for (BookingJdbcRepository.OutboxRow row : rows) {
+            redisTemplate.convertAndSend(SOLD_CHANNEL, row.gameId() + MESSAGE_DELIMITER + row.sectionId() + MESSAGE_DELIMITER + row.seats());
+        }
+        if (!rows.isEmpty()) {
+            bookingJdbcRepository.markPublished(rows.stream().map(BookingJdbcRepository.OutboxRow::id).toList());
+        }
+        return rows.size();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        try {
+            seatInventoryService.markSold(Long.valueOf(parts[0]), Long.valueOf(parts[1]), BookingDTO.splitSeats(parts[2]));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply sold seats {} {}", String.join(MESSAGE_DELIMITER, parts), e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.BookingDTO;
+import com.ticketcheater.web.entity.SeatStatus;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.BookingStreamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class BookingService {
+
+    private final SeatHoldService seatHoldService;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingStreamRepository bookingStreamRepository;
+
+    /**
+     * Acknowledges the booking once it is appended to the game's booking stream, in the same script that checks
+     * the holds and marks the seats sold. {@link BookingWriter} persists it to MySQL afterwards.
+     */
+    public BookingDTO book(String username, Long gameId, Long sectionId, int[] seats) {
+        seatHoldService.checkSeats(seats);
+        SeatInventory inventory = seatInventoryService.getInventory(gameId);
+        for (int seat : seats) {
+            if (inventory.status(sectionId, seat) == SeatStatus.SOLD) {
+                throw new TicketApplicationException(ErrorCode.SEAT_NOT_AVAILABLE, String.format("seat is %d", seat));
+            }
+        }
+        BookingDTO booking = new BookingDTO(UUID.randomUUID().toString(), gameId, sectionId, seats, username, Instant.now(), null);
+        BookingStreamRepository.BookResult result = bookingStreamRepository.book(booking);
+        if (!result.isBooked()) {
+            throw new TicketApplicationException(ErrorCode.HOLD_NOT_FOUND, String.format("seat is %d", seats[result.lostSeat() - 1]));
+        }
+        seatInventoryService.markSold(gameId, sectionId, seats);
+        log.info("Accept booking {} of game {} for {} at {}", booking.bookingId(), gameId, username, result.streamId());
+        return new BookingDTO(booking.bookingId(), gameId, sectionId, seats, username, booking.createdAt(), result.streamId());
+    }
+
+}
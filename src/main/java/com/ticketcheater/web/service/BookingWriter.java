@@ -0,0 +1,153 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.BookingDTO;
+import com.ticketcheater.web.repository.BookingJdbcRepository;
+import com.ticketcheater.web.repository.BookingStreamRepository;
+import com.ticketcheater.web.utils.NodeIdentifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the booking streams into MySQL. Entries are acknowledged only after the batch commits, so a crash replays
+ * them to the next writer and the idempotent inserts absorb the duplicates.
+ */
+@Log4j2
+@Component
+public class BookingWriter {
+
+    private final GameService gameService;
+    private final BookingStreamRepository bookingStreamRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerStream;
+    private final Duration claimIdle;
+    private final Counter persisted;
+    private final Counter conflicted;
+    private final Timer batchTime;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public BookingWriter(GameService gameService,
+                         BookingStreamRepository bookingStreamRepository,
+                         BookingJdbcRepository bookingJdbcRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${booking.drain.batch-size:500}") int batchSize,
+                         @Value("${booking.drain.max-batches:20}") int maxBatchesPerStream,
+                         @Value("${booking.drain.claim-idle:30s}") Duration claimIdle) {
+        this.gameService = gameService;
+        this.bookingStreamRepository = bookingStreamRepository;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerStream = maxBatchesPerStream;
+        this.claimIdle = claimIdle;
+        this.persisted = Counter.builder("booking.pipeline.persisted").register(meterRegistry);
+        this.conflicted = Counter.builder("booking.pipeline.conflicts")
+                .description("bookings whose seats were already sold to another booking")
+                .register(meterRegistry);
+        this.batchTime = Timer.builder("booking.pipeline.batch.time").register(meterRegistry);
+        Gauge.builder("booking.pipeline.pending", pending, AtomicLong::get)
+                .description("bookings read from the streams but not yet acknowledged")
+                .register(meterRegistry);
+        Gauge.builder("booking.pipeline.lag.seconds", lagMillis, it -> it.get() / 1000.0)
+                .description("age of the oldest booking not yet persisted to MySQL")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.drain.interval:200ms}")
+    public void drain() {
+        long pendingCount = 0;
+        long oldest = Long.MAX_VALUE;
+        for (String streamKey : bookingStreamRepository.getStreamKeys()) {
+            try {
+                persist(streamKey, bookingStreamRepository.claimStale(streamKey, NodeIdentifier.VALUE, claimIdle, batchSize));
+                for (int i = 0; i < maxBatchesPerStream; i++) {
+                    if (persist(streamKey, bookingStreamRepository.read(streamKey, NodeIdentifier.VALUE, batchSize)) < batchSize) {
+                        break;
+                    }
+                }
+                BookingStreamRepository.StreamState state = bookingStreamRepository.settle(streamKey);
+                if (state.idle()) {
+                    bookingStreamRepository.unregister(streamKey);
+                    continue;
+                }
+                pendingCount += state.pending();
+                if (state.oldestUnacknowledged() != null) {
+                    oldest = Math.min(oldest, state.oldestUnacknowledged().getTimestamp());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to drain booking stream {} {}", streamKey, e.getMessage());
+            }
+        }
+        pending.set(pendingCount);
+        lagMillis.set(oldest == Long.MAX_VALUE ? 0 : Math.max(0, Instant.now().toEpochMilli() - oldest));
+    }
+
+    /**
+     * Re-applies a stream from {@code fromId} regardless of what the consumer group acknowledged,
+     * for instance after MySQL was restored from a backup, as far back as the stream retention reaches.
+     */
+    public long replay(String username, Long gameId, String fromId) {
+        gameService.checkAdmin(username);
+        String streamKey = BookingStreamRepository.getStreamKey(gameId);
+        String cursor = fromId == null ? "0-0" : fromId;
+        boolean inclusive = true;
+        long replayed = 0;
+        while (true) {
+            List<BookingDTO> bookings = bookingStreamRepository.range(streamKey, cursor, inclusive, batchSize).stream()
+                    .map(it -> BookingDTO.fromEntry(it.getId().getValue(), it.getValue()))
+                    .toList();
+            if (bookings.isEmpty()) {
+                break;
+            }
+            insert(bookings);
+            replayed += bookings.size();
+            cursor = bookings.get(bookings.size() - 1).streamId();
+            inclusive = false;
+        }
+        log.info("Replay {} bookings of {} from {}", replayed, streamKey, fromId);
+        return replayed;
+    }
+
+    private int persist(String streamKey, List<MapRecord<String, Object, Object>> records) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        List<BookingDTO> bookings = records.stream()
+                .map(it -> BookingDTO.fromEntry(it.getId().getValue(), it.getValue()))
+                .toList();
+        batchTime.record(() -> insert(bookings));
+        bookingStreamRepository.acknowledge(streamKey, bookings.stream().map(BookingDTO::streamId).toList());
+        persisted.increment(bookings.size());
+        return records.size();
+    }
+
+    private void insert(List<BookingDTO> bookings) {
+        List<BookingDTO> conflicts = transactionTemplate.execute(status -> bookingJdbcRepository.insertAll(bookings));
+        if (conflicts == null || conflicts.isEmpty()) {
+            return;
+        }
+        conflicted.increment(conflicts.size());
+        for (BookingDTO conflict : conflicts) {
+            log.warn("Booking {} of game {} section {} seats {} conflicts with seats sold to another booking",
+                    conflict.bookingId(), conflict.gameId(), conflict.sectionId(), conflict.joinedSeats());
+        }
+    }
+
+}
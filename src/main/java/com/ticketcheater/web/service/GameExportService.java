@@ -0,0 +1,72 @@
+package com.ticketcheater.web.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketcheater.web.controller.response.GameResponse;
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.repository.GameRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Log4j2
+@Service
+public class GameExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte NEW_LINE = '\n';
+
+    private final GameRepository gameRepository;
+    private final ObjectWriter writer;
+    private final int flushRows;
+
+    public GameExportService(GameRepository gameRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${game-export.flush-rows:500}") int flushRows) {
+        this.gameRepository = gameRepository;
+        this.writer = objectMapper.writerFor(GameResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushRows = flushRows;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportGames(String category, Instant from, Instant to, Long afterId, OutputStream outputStream) throws IOException {
+        Category target = category == null ? null : Category.fromString(category);
+        long startedAt = System.nanoTime();
+        long exported = 0;
+        BufferedOutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        try (Stream<GameSummaryDTO> games = gameRepository.streamSummaries(
+                target,
+                from == null ? null : Timestamp.from(from),
+                to == null ? null : Timestamp.from(to),
+                afterId == null ? 0L : afterId
+        )) {
+            Iterator<GameSummaryDTO> iterator = games.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(out, GameResponse.from(iterator.next()));
+                out.write(NEW_LINE);
+                if (++exported % flushRows == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.info("Export {} games in {}ms", exported, (System.nanoTime() - startedAt) / 1_000_000);
+        return exported;
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.ticketcheater.web.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketcheater.web.controller.request.GameRequest;
+import com.ticketcheater.web.dto.GameImportResultDTO;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.entity.Game;
+import com.ticketcheater.web.event.GamesImportedEvent;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.GameRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Log4j2
+@Service
+public class GameImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("category", "title", "home", "away", "place", "startedat");
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public GameImportService(GameService gameService,
+                             GameRepository gameRepository,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${game-import.batch-size:500}") int batchSize,
+                             @Value("${game-import.max-reported-errors:100}") int maxReportedErrors) {
+        this.gameService = gameService;
+        this.gameRepository = gameRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public GameImportResultDTO importGames(String username, Format format, BufferedReader reader) throws IOException {
+        gameService.checkAdmin(username);
+        Import context = new Import();
+        long startedAt = System.nanoTime();
+
+        String line;
+        long lineNumber = 0;
+        if (format == Format.CSV) {
+            lineNumber++;
+            String header = reader.readLine();
+            if (header == null || !parseCsvLine(header).stream().map(it -> it.trim().toLowerCase()).toList().equals(CSV_COLUMNS)) {
+                context.fail(lineNumber, "header must be " + String.join(",", CSV_COLUMNS));
+                return context.result(startedAt);
+            }
+        }
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            context.total++;
+            try {
+                context.add(lineNumber, toGame(format == Format.CSV ? parseCsv(line) : parseJson(line)));
+            } catch (IllegalArgumentException | TicketApplicationException e) {
+                context.fail(lineNumber, e.getMessage());
+            }
+            if (context.batch.size() >= batchSize) {
+                flush(context);
+            }
+        }
+        flush(context);
+
+        GameImportResultDTO result = context.result(startedAt);
+        if (!context.categories.isEmpty()) {
+            eventPublisher.publishEvent(new GamesImportedEvent(context.categories));
+        }
+        log.info("Import {} of {} games in {}ms ({} rows/s)", result.imported(), result.total(), result.elapsedMillis(), (long) result.rowsPerSecond());
+        return result;
+    }
+
+    private void flush(Import context) {
+        if (context.batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> gameRepository.saveAll(context.batch));
+            context.imported += context.batch.size();
+            context.batch.forEach(it -> context.categories.add(it.getCategory()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to import batch of {} games {}", context.batch.size(), e.getMessage());
+            context.lines.forEach(it -> context.fail(it, "batch failed: " + e.getMostSpecificCause().getMessage()));
+        }
+        context.batch.clear();
+        context.lines.clear();
+    }
+
+    private GameRequest parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, GameRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("malformed json: " + e.getOriginalMessage());
+        }
+    }
+
+    private GameRequest parseCsv(String line) {
+        List<String> columns = parseCsvLine(line);
+        if (columns.size() != CSV_COLUMNS.size()) {
+            throw new IllegalArgumentException(String.format("expected %d columns but was %d", CSV_COLUMNS.size(), columns.size()));
+        }
+        return new GameRequest(columns.get(0), columns.get(1), columns.get(2), columns.get(3), columns.get(4), parseTimestamp(columns.get(5)));
+    }
+
+    private Game toGame(GameRequest request) {
+        requireText(request.getTitle(), "title");
+        requireText(request.getHome(), "home");
+        requireText(request.getAway(), "away");
+        requireText(request.getPlace(), "place");
+        if (request.getCategory() == null) {
+            throw new IllegalArgumentException("category is required");
+        }
+        if (request.getStartedAt() == null) {
+            throw new IllegalArgumentException("startedAt is required");
+        }
+        return Game.of(
+                Category.fromString(request.getCategory()),
+                request.getTitle(),
+                request.getHome(),
+                request.getAway(),
+                request.getPlace(),
+                request.getStartedAt()
+        );
+    }
+
+    private void requireText(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+    }
+
+    static Timestamp parseTimestamp(String value) {
+        String trimmed = value.trim();
+        try {
+            return Timestamp.from(Instant.parse(trimmed));
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return Timestamp.valueOf(LocalDateTime.parse(trimmed));
+        } catch (DateTimeParseException ignored) {
+        }
+        return Timestamp.valueOf(trimmed);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted column");
+        }
+        columns.add(current.toString());
+        return columns;
+    }
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private class Import {
+
+        private final List<Game> batch = new ArrayList<>(batchSize);
+        private final List<Long> lines = new ArrayList<>(batchSize);
+        private final List<GameImportResultDTO.RowError> errors = new ArrayList<>();
+        private final Set<Category> categories = EnumSet.noneOf(Category.class);
+        private long total;
+        private long imported;
+        private long failed;
+
+        void add(long line, Game game) {
+            batch.add(game);
+            lines.add(line);
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new GameImportResultDTO.RowError(line, message));
+            }
+        }
+
+        GameImportResultDTO result(long startedAt) {
+            return new GameImportResultDTO(total, imported, failed, List.copyOf(errors), (System.nanoTime() - startedAt) / 1_000_000);
+        }
+
+    }
+
+}
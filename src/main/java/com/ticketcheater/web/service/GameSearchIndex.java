@@ -0,0 +1,369 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.event.GameChangedEvent;
+import com.ticketcheater.web.event.GamesImportedEvent;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
+import com.ticketcheater.web.repository.GameRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Component
+public class GameSearchIndex implements MessageListener {
+
+    private static final int MAX_GRAM_LENGTH = 20;
+    private static final int MIN_LATIN_GRAM_LENGTH = 2;
+    private static final int EXACT = 4;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(it -> it.game().startedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(it -> it.game().id());
+
+    private final GameRepository gameRepository;
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    public GameSearchIndex(GameRepository gameRepository, RedisMessageListenerContainer listenerContainer) {
+        this.gameRepository = gameRepository;
+        listenerContainer.addMessageListener(this, List.of(
+                new ChannelTopic(GameCatalogCacheRepository.GAME_CHANNEL),
+                new ChannelTopic(GameCatalogCacheRepository.RELOAD_CHANNEL)
+        ));
+    }
+
+    public List<GameSummaryDTO> search(String query, int page, int size) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<Term> matches = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Term term = current.postings().get(token.length() > MAX_GRAM_LENGTH ? token.substring(0, MAX_GRAM_LENGTH) : token);
+            if (term == null) {
+                return List.of();
+            }
+            matches.add(term);
+        }
+        matches.sort(Comparator.comparingInt(Term::size));
+
+        Term first = matches.get(0);
+        int othersMaxScore = 0;
+        for (int i = 1; i < matches.size(); i++) {
+            othersMaxScore += matches.get(i).maxScore();
+        }
+
+        int wanted = (page + 1) * size;
+        PriorityQueue<Hit> top = new PriorityQueue<>(wanted + 1, RANKING.reversed());
+        candidates:
+        for (int i = 0; i < first.size(); i++) {
+            GameSummaryDTO game = current.games().get(first.rankedIds()[i]);
+            if (game == null) {
+                continue;
+            }
+            int score = first.rankedScores()[i];
+            if (top.size() == wanted && RANKING.compare(new Hit(game, score + othersMaxScore), top.peek()) > 0) {
+                break;
+            }
+            for (int j = 1; j < matches.size(); j++) {
+                int other = matches.get(j).score(game.id());
+                if (other < 0) {
+                    continue candidates;
+                }
+                score += other;
+            }
+            top.add(new Hit(game, score));
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        int from = page * size;
+        if (from >= ranked.size()) {
+            return List.of();
+        }
+        return ranked.subList(from, ranked.size()).stream().map(Hit::game).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<GameSummaryDTO> loaded = gameRepository.findAllSummaryList();
+            rebuild(loaded);
+            log.info("Load game search index with {} games and {} terms", loaded.size(), snapshot.postings().size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load game search index {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        upsert(event.game());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesImported(GamesImportedEvent event) {
+        load();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (GameCatalogCacheRepository.isRemoteReload(message)) {
+            load();
+            return;
+        }
+        GameCatalogCacheRepository.parseGameChanged(new String(message.getBody(), StandardCharsets.UTF_8))
+                .ifPresent(id -> gameRepository.findSummaryById(id).ifPresentOrElse(this::upsert, () -> remove(id)));
+    }
+
+    synchronized void rebuild(List<GameSummaryDTO> loaded) {
+        List<GameSummaryDTO> sorted = loaded.stream()
+                .filter(it -> it.id() != null)
+                .sorted(Comparator.comparing(GameSummaryDTO::id))
+                .toList();
+        Map<String, TermBuilder> builders = new HashMap<>();
+        for (GameSummaryDTO game : sorted) {
+            terms(game).forEach((term, score) -> builders.computeIfAbsent(term, it -> new TermBuilder()).add(game.id(), score));
+        }
+        Map<Long, GameSummaryDTO> games = new ConcurrentHashMap<>(sorted.size() * 2);
+        sorted.forEach(it -> games.put(it.id(), it));
+        Map<String, Term> postings = new ConcurrentHashMap<>(builders.size() * 2);
+        RankComparator comparator = rankComparator(games);
+        builders.forEach((term, builder) -> postings.put(term, builder.build(comparator)));
+        // Games and postings are published together so a search never pairs one with the other's generation.
+        snapshot = new Snapshot(games, postings);
+    }
+
+    synchronized void upsert(GameSummaryDTO game) {
+        if (game.id() == null) {
+            return;
+        }
+        remove(game.id());
+        Snapshot current = snapshot;
+        current.games().put(game.id(), game);
+        RankComparator comparator = rankComparator(current.games());
+        terms(game).forEach((term, score) -> current.postings().compute(term, (key, posting) ->
+                (posting == null ? Term.EMPTY : posting).with(game.id(), score, comparator)));
+    }
+
+    synchronized void remove(Long id) {
+        Snapshot current = snapshot;
+        GameSummaryDTO previous = current.games().get(id);
+        if (previous == null) {
+            return;
+        }
+        terms(previous).keySet().forEach(term -> current.postings().computeIfPresent(term, (key, posting) -> posting.without(id)));
+        current.games().remove(id);
+    }
+
+    private static RankComparator rankComparator(Map<Long, GameSummaryDTO> games) {
+        return (id, score, otherId, otherScore) ->
+                RANKING.compare(new Hit(games.get(id), score), new Hit(games.get(otherId), otherScore));
+    }
+
+    private Map<String, Integer> terms(GameSummaryDTO game) {
+        Map<String, Integer> scores = new HashMap<>();
+        index(scores, game.title(), 3);
+        index(scores, game.home(), 2);
+        index(scores, game.away(), 2);
+        index(scores, game.place(), 1);
+        return scores;
+    }
+
+    private void index(Map<String, Integer> scores, String text, int weight) {
+        for (String token : tokenize(text)) {
+            boolean hangul = isHangul(token.charAt(0));
+            int starts = hangul ? token.length() : 1;
+            int minLength = hangul ? 1 : Math.min(MIN_LATIN_GRAM_LENGTH, token.length());
+            for (int start = 0; start < starts; start++) {
+                int maxLength = Math.min(token.length() - start, MAX_GRAM_LENGTH);
+                for (int length = minLength; length <= maxLength; length++) {
+                    int match = start > 0 ? INFIX : length == token.length() ? EXACT : PREFIX;
+                    scores.merge(token.substring(start, start + length), weight * match, Math::max);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            char current = normalized.charAt(i);
+            if (!Character.isLetterOrDigit(current)) {
+                if (start >= 0) {
+                    tokens.add(normalized.substring(start, i));
+                    start = -1;
+                }
+                continue;
+            }
+            if (start < 0) {
+                start = i;
+            } else if (isHangul(current) != isHangul(normalized.charAt(i - 1))) {
+                tokens.add(normalized.substring(start, i));
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL;
+    }
+
+    private interface RankComparator {
+        int compare(long id, int score, long otherId, int otherScore);
+    }
+
+    private record Hit(GameSummaryDTO game, int score) {
+    }
+
+    private record Snapshot(Map<Long, GameSummaryDTO> games, Map<String, Term> postings) {
+    }
+
+    // Game ids sorted by id for score lookups, and again in ranking order so the best
+    // matches of a term can be read from the front without scoring the whole posting.
+    private record Term(long[] ids, byte[] scores, long[] rankedIds, byte[] rankedScores, int maxScore) {
+
+        static final Term EMPTY = new Term(new long[0], new byte[0], new long[0], new byte[0], 0);
+
+        int size() {
+            return ids.length;
+        }
+
+        int score(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index < 0 ? -1 : scores[index];
+        }
+
+        Term with(long id, int score, RankComparator comparator) {
+            int index = -Arrays.binarySearch(ids, id) - 1;
+            long[] nextIds = new long[ids.length + 1];
+            byte[] nextScores = new byte[ids.length + 1];
+            System.arraycopy(ids, 0, nextIds, 0, index);
+            System.arraycopy(scores, 0, nextScores, 0, index);
+            nextIds[index] = id;
+            nextScores[index] = (byte) score;
+            System.arraycopy(ids, index, nextIds, index + 1, ids.length - index);
+            System.arraycopy(scores, index, nextScores, index + 1, ids.length - index);
+
+            int low = 0;
+            int high = rankedIds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(rankedIds[middle], rankedScores[middle], id, score) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            long[] nextRankedIds = new long[rankedIds.length + 1];
+            byte[] nextRankedScores = new byte[rankedIds.length + 1];
+            System.arraycopy(rankedIds, 0, nextRankedIds, 0, low);
+            System.arraycopy(rankedScores, 0, nextRankedScores, 0, low);
+            nextRankedIds[low] = id;
+            nextRankedScores[low] = (byte) score;
+            System.arraycopy(rankedIds, low, nextRankedIds, low + 1, rankedIds.length - low);
+            System.arraycopy(rankedScores, low, nextRankedScores, low + 1, rankedIds.length - low);
+            return new Term(nextIds, nextScores, nextRankedIds, nextRankedScores, Math.max(maxScore, score));
+        }
+
+        Term without(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] nextIds = new long[ids.length - 1];
+            byte[] nextScores = new byte[ids.length - 1];
+            System.arraycopy(ids, 0, nextIds, 0, index);
+            System.arraycopy(scores, 0, nextScores, 0, index);
+            System.arraycopy(ids, index + 1, nextIds, index, ids.length - index - 1);
+            System.arraycopy(scores, index + 1, nextScores, index, ids.length - index - 1);
+
+            long[] nextRankedIds = new long[rankedIds.length - 1];
+            byte[] nextRankedScores = new byte[rankedIds.length - 1];
+            int maximum = 0;
+            for (int i = 0, j = 0; i < rankedIds.length; i++) {
+                if (rankedIds[i] == id) {
+                    continue;
+                }
+                nextRankedIds[j] = rankedIds[i];
+                nextRankedScores[j] = rankedScores[i];
+                maximum = Math.max(maximum, rankedScores[i]);
+                j++;
+            }
+            return new Term(nextIds, nextScores, nextRankedIds, nextRankedScores, maximum);
+        }
+
+    }
+
+    private static class TermBuilder {
+
+        private long[] ids = new long[4];
+        private byte[] scores = new byte[4];
+        private int size;
+
+        void add(long id, int score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ids[size] = id;
+            scores[size] = (byte) score;
+            size++;
+        }
+
+        Term build(RankComparator comparator) {
+            long[] sortedIds = Arrays.copyOf(ids, size);
+            byte[] sortedScores = Arrays.copyOf(scores, size);
+            Integer[] order = new Integer[size];
+            int maximum = 0;
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+                maximum = Math.max(maximum, sortedScores[i]);
+            }
+            Arrays.sort(order, (a, b) -> comparator.compare(sortedIds[a], sortedScores[a], sortedIds[b], sortedScores[b]));
+            long[] rankedIds = new long[size];
+            byte[] rankedScores = new byte[size];
+            for (int i = 0; i < size; i++) {
+                rankedIds[i] = sortedIds[order[i]];
+                rankedScores[i] = sortedScores[order[i]];
+            }
+            return new Term(sortedIds, sortedScores, rankedIds, rankedScores, maximum);
+        }
+
+    }
+
+}
@@ -1,52 +1,124 @@
 package com.ticketcheater.web.service;
 
+import com.ticketcheater.web.dto.GameCursor;
 import com.ticketcheater.web.dto.GameDTO;
+import com.ticketcheater.web.dto.GamePageDTO;
+import com.ticketcheater.web.dto.GameSliceDTO;
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.dto.GameUpdateDTO;
+import com.ticketcheater.web.dto.GameUpdateResultDTO;
 import com.ticketcheater.web.entity.Category;
 import com.ticketcheater.web.entity.Game;
 import com.ticketcheater.web.entity.User;
 import com.ticketcheater.web.entity.UserRole;
+import com.ticketcheater.web.event.GameChangedEvent;
 import com.ticketcheater.web.exception.ErrorCode;
 import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
 import com.ticketcheater.web.repository.GameRepository;
 import com.ticketcheater.web.repository.UserRepository;
+import com.ticketcheater.web.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Log4j2
 @Service
 @RequiredArgsConstructor
 public class GameService {
 
     private final GameRepository gameRepository;
     private final UserRepository userRepository;
+    private final GameCatalogCacheRepository gameCatalogCacheRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UpcomingGameIndex upcomingGameIndex;
+    private final GameSearchIndex gameSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<String, GamePageDTO> catalogLoads = new SingleFlight<>();
+
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    @Value("${upcoming-games.default-window:7d}")
+    private Duration upcomingWindow;
+
+    @Value("${game-update.max-batch-size:500}")
+    private int maxUpdateBatchSize;
+
+    @Value("${game-update.max-attempts:3}")
+    private int maxUpdateAttempts;
 
     @Transactional
     public void createGame(String username, GameDTO dto) {
         checkAdmin(username);
-        gameRepository.save(
-                Game.of(
-                        Category.fromString(dto.getCategory()),
-                        dto.getTitle(),
-                        dto.getHome(),
-                        dto.getAway(),
-                        dto.getPlace(),
-                        dto.getStartedAt()
-                )
+        Category category = Category.fromString(dto.getCategory());
+        // Keyset paging orders by started_at, so a game without one could neither be paged past nor encoded in a cursor.
+        if (dto.getStartedAt() == null) {
+            throw new TicketApplicationException(ErrorCode.INVALID_GAME, "startedAt is required");
+        }
+        Game game = Game.of(
+                category,
+                dto.getTitle(),
+                dto.getHome(),
+                dto.getAway(),
+                dto.getPlace(),
+                dto.getStartedAt()
         );
+        gameRepository.save(game);
+        eventPublisher.publishEvent(new GameChangedEvent(GameSummaryDTO.from(game), Set.of(category)));
+    }
+
+    public Page<GameSummaryDTO> getGames(Pageable pageable) {
+        return getCatalogPage(GameCatalogCacheRepository.ALL_SCOPE, pageable, () -> gameRepository.findAllSummaries(pageable));
+    }
+
+    public Page<GameSummaryDTO> getGamesByCategory(String category, Pageable pageable) {
+        Category target = Category.fromString(category);
+        return getCatalogPage(GameCatalogCacheRepository.scope(target), pageable, () -> gameRepository.findAllSummariesByCategory(target, pageable));
     }
 
     @Transactional(readOnly = true)
-    public Page<GameDTO> getGames(Pageable pageable) {
-        return gameRepository.findAll(pageable)
-                .map(GameDTO::from);
+    public GameSliceDTO getGameSlice(String cursor, int size) {
+        GameCursor after = GameCursor.decode(cursor);
+        int limit = sliceSize(size);
+        List<Game> games = after == null
+                ? gameRepository.findFirstSlice(limit + 1)
+                : gameRepository.findSliceAfter(after.startedAt(), after.id(), limit + 1);
+        return toSlice(games, limit);
     }
 
     @Transactional(readOnly = true)
-    public Page<GameDTO> getGamesByCategory(String category, Pageable pageable) {
-        return gameRepository.findAllByCategory(pageable, Category.fromString(category))
-                .map(GameDTO::from);
+    public GameSliceDTO getGameSliceByCategory(String category, String cursor, int size) {
+        String name = Category.fromString(category).name();
+        GameCursor after = GameCursor.decode(cursor);
+        int limit = sliceSize(size);
+        List<Game> games = after == null
+                ? gameRepository.findFirstSliceByCategory(name, limit + 1)
+                : gameRepository.findSliceByCategoryAfter(name, after.startedAt(), after.id(), limit + 1);
+        return toSlice(games, limit);
     }
 
     @Transactional
@@ -56,17 +128,155 @@ public class GameService {
         Game game = gameRepository.findById(gameId)
                 .orElseThrow(() -> new TicketApplicationException(ErrorCode.GAME_NOT_FOUND));
 
-        game.setCategory(Category.fromString(dto.getCategory()));
+        Category previous = game.getCategory();
+        Category category = Category.fromString(dto.getCategory());
+        game.setCategory(category);
         game.setTitle(dto.getTitle());
         game.setHome(dto.getHome());
         game.setAway(dto.getAway());
         game.setPlace(dto.getPlace());
         game.setStartedAt(dto.getStartedAt());
 
-        gameRepository.saveAndFlush(game);
+        try {
+            gameRepository.saveAndFlush(game);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new TicketApplicationException(ErrorCode.GAME_UPDATE_CONFLICT, String.format("gameId is %d", gameId));
+        }
+        publishGameChanged(game, previous, category);
+    }
+
+    public List<GameUpdateResultDTO> updateGames(String username, List<GameUpdateDTO> updates) {
+        checkAdmin(username);
+        if (updates.size() > maxUpdateBatchSize) {
+            throw new TicketApplicationException(ErrorCode.TOO_MANY_UPDATES, String.format("max batch size is %d", maxUpdateBatchSize));
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdates(updates));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxUpdateAttempts) {
+                    throw new TicketApplicationException(ErrorCode.GAME_UPDATE_CONFLICT, String.format("gave up after %d attempts", attempt));
+                }
+                log.warn("Batch update of {} games lost a race, retrying {}", updates.size(), e.getMessage());
+            }
+        }
     }
 
-    private void checkAdmin(String username) {
+    private List<GameUpdateResultDTO> applyUpdates(List<GameUpdateDTO> updates) {
+        Set<Long> ids = updates.stream().map(GameUpdateDTO::id).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Game> games = gameRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Game::getId, Function.identity()));
+
+        GameUpdateResultDTO[] results = new GameUpdateResultDTO[updates.size()];
+        Game[] updated = new Game[updates.size()];
+        Category[] previous = new Category[updates.size()];
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            GameUpdateDTO update = updates.get(i);
+            Game game = update.id() == null ? null : games.get(update.id());
+            if (update.id() == null || !seen.add(update.id())) {
+                results[i] = GameUpdateResultDTO.invalid(update.id(), update.id() == null ? "id is required" : "duplicated id");
+            } else if (game == null) {
+                results[i] = GameUpdateResultDTO.notFound(update.id());
+            } else if (update.version() != null && !update.version().equals(game.getVersion())) {
+                results[i] = GameUpdateResultDTO.conflict(game.getId(), game.getVersion());
+            } else {
+                try {
+                    previous[i] = game.getCategory();
+                    apply(game, update);
+                    updated[i] = game;
+                } catch (TicketApplicationException e) {
+                    results[i] = GameUpdateResultDTO.invalid(update.id(), e.getCode().getMessage());
+                }
+            }
+        }
+
+        gameRepository.flush();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != null) {
+                results[i] = GameUpdateResultDTO.updated(updated[i].getId(), updated[i].getVersion());
+                publishGameChanged(updated[i], previous[i], updated[i].getCategory());
+            }
+        }
+        return List.of(results);
+    }
+
+    private void apply(Game game, GameUpdateDTO update) {
+        Category category = update.category() == null ? game.getCategory() : Category.fromString(update.category());
+        game.setCategory(category);
+        if (update.title() != null) {
+            game.setTitle(update.title());
+        }
+        if (update.home() != null) {
+            game.setHome(update.home());
+        }
+        if (update.away() != null) {
+            game.setAway(update.away());
+        }
+        if (update.place() != null) {
+            game.setPlace(update.place());
+        }
+        if (update.startedAt() != null) {
+            game.setStartedAt(update.startedAt());
+        }
+    }
+
+    private void publishGameChanged(Game game, Category previous, Category category) {
+        eventPublisher.publishEvent(new GameChangedEvent(
+                GameSummaryDTO.from(game),
+                previous == null || previous == category ? Set.of(category) : Set.of(previous, category)
+        ));
+    }
+
+    private Page<GameSummaryDTO> getCatalogPage(String scope, Pageable pageable, Supplier<Page<GameSummaryDTO>> loader) {
+        if (!GameCatalogCacheRepository.isCacheable(pageable)) {
+            return loader.get();
+        }
+        long version = gameCatalogCacheRepository.getVersion(scope);
+        String key = GameCatalogCacheRepository.getPageKey(scope, version, pageable);
+        GamePageDTO page = gameCatalogCacheRepository.getPage(key)
+                .orElseGet(() -> catalogLoads.execute(key, () -> {
+                    GamePageDTO loaded = GamePageDTO.from(loader.get());
+                    gameCatalogCacheRepository.setPage(key, loaded);
+                    return loaded;
+                }));
+        return page.toPage(pageable);
+    }
+
+    public List<GameSummaryDTO> getUpcomingGames(String category, Instant from, Instant to, int size) {
+        Category target = category == null ? null : Category.fromString(category);
+        Instant now = Instant.now();
+        Instant start = from == null || from.isBefore(now) ? now : from;
+        Instant end = to == null ? start.plus(upcomingWindow) : to;
+        return upcomingGameIndex.find(target, start, end, sliceSize(size));
+    }
+
+    public List<GameSummaryDTO> searchGames(String query, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = sliceSize(size);
+        if ((long) (pageNumber + 1) * pageSize > MAX_SEARCH_RESULTS) {
+            return List.of();
+        }
+        return gameSearchIndex.search(query, pageNumber, pageSize);
+    }
+
+    private int sliceSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+    }
+
+    private GameSliceDTO toSlice(List<Game> games, int limit) {
+        if (games.size() <= limit) {
+            return new GameSliceDTO(games.stream().map(GameDTO::from).toList(), null);
+        }
+        List<Game> content = games.subList(0, limit);
+        return new GameSliceDTO(content.stream().map(GameDTO::from).toList(), GameCursor.from(content.get(limit - 1)));
+    }
+
+    void checkAdmin(String username) {
+        if (stateless) {
+            checkAdminAuthority(username);
+            return;
+        }
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new TicketApplicationException(ErrorCode.USER_NOT_FOUND, String.format("username is %s", username)));
         if (!user.getRole().equals(UserRole.ADMIN)) {
@@ -74,4 +284,16 @@ public class GameService {
         }
     }
 
+    private void checkAdminAuthority(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.getName().equals(username)) {
+            throw new TicketApplicationException(ErrorCode.USER_NOT_FOUND, String.format("username is %s", username));
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(it -> UserRole.ADMIN.toString().equals(it.getAuthority()));
+        if (!isAdmin) {
+            throw new TicketApplicationException(ErrorCode.INVALID_PERMISSION);
+        }
+    }
+
 }
@@ -0,0 +1,68 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.event.UserInvalidatedEvent;
+import com.ticketcheater.web.repository.UserRepository;
+import com.ticketcheater.web.utils.BloomFilter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Service
+public class KnownUsernames {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Map<String, Long> recentlyAdded = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public KnownUsernames(UserRepository userRepository,
+                          @Value("${user-cache.bloom.enabled:false}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean mightExist(String username) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(username);
+    }
+
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        recentlyAdded.put(event.username(), System.nanoTime());
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(event.username());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-cache.bloom.rebuild-interval:10m}", initialDelayString = "${user-cache.bloom.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            List<String> usernames = userRepository.findAllUsernames();
+            BloomFilter rebuilt = BloomFilter.create(Math.max(10_000, usernames.size() * 2L), FALSE_POSITIVE_RATE);
+            usernames.forEach(rebuilt::put);
+            recentlyAdded.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            recentlyAdded.values().removeIf(it -> it - startedAt < 0);
+            log.info("Rebuild username filter with {} users", usernames.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild username filter {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.ticketcheater.web.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seats this node holds in its local bitmap, each with its holder and the expiry of its Redis hold. Shared by the
+ * hold path, which adds and removes them, and the inventory loader, which restores them into a reloaded bitmap.
+ */
+@Component
+public class LocalSeatHolds {
+
+    private final Map<HeldSeat, Hold> holds = new ConcurrentHashMap<>();
+
+    public boolean isHeldBy(String holder, Long gameId, Long sectionId, int seat) {
+        Hold hold = holds.get(new HeldSeat(gameId, sectionId, seat));
+        return hold != null && hold.holder().equals(holder);
+    }
+
+    public void put(String holder, Long gameId, Long sectionId, int[] seats, long expiresAt) {
+        Hold hold = new Hold(holder, expiresAt);
+        for (int seat : seats) {
+            holds.put(new HeldSeat(gameId, sectionId, seat), hold);
+        }
+    }
+
+    public void extend(String holder, Long gameId, Long sectionId, int[] seats, long expiresAt) {
+        Hold extended = new Hold(holder, expiresAt);
+        for (int seat : seats) {
+            holds.computeIfPresent(new HeldSeat(gameId, sectionId, seat), (key, hold) -> hold.holder().equals(holder) ? extended : hold);
+        }
+    }
+
+    /**
+     * Removes the seat only when it belongs to the holder, and tells whether it did.
+     */
+    public boolean remove(String holder, Long gameId, Long sectionId, int seat) {
+        HeldSeat heldSeat = new HeldSeat(gameId, sectionId, seat);
+        Hold hold = holds.get(heldSeat);
+        return hold != null && hold.holder().equals(holder) && holds.remove(heldSeat, hold);
+    }
+
+    public List<HeldSeat> removeExpired(long now) {
+        List<HeldSeat> expired = new ArrayList<>();
+        holds.forEach((heldSeat, hold) -> {
+            if (hold.expiresAt() - now < 0 && holds.remove(heldSeat, hold)) {
+                expired.add(heldSeat);
+            }
+        });
+        return expired;
+    }
+
+    public List<HeldSeat> findByGame(Long gameId) {
+        return holds.keySet().stream()
+                .filter(it -> it.gameId().equals(gameId))
+                .toList();
+    }
+
+    public record HeldSeat(Long gameId, Long sectionId, int seat) {
+    }
+
+    private record Hold(String holder, long expiresAt) {
+    }
+
+}
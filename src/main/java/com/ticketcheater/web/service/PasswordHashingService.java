@@ -0,0 +1,117 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.RetryLaterException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Log4j2
+@Service
+public class PasswordHashingService {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final HashingTimers encodeTimers;
+    private final HashingTimers matchesTimers;
+
+    public PasswordHashingService(BCryptPasswordEncoder encoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${password-hashing.pool-size:0}") int poolSize,
+                                  @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password-hashing.timeout:5s}") Duration timeout) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.encoder = encoder;
+        this.timeout = timeout;
+        this.encodeTimers = HashingTimers.register(meterRegistry, "encode");
+        this.matchesTimers = HashingTimers.register(meterRegistry, "matches");
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        Gauge.builder("password.hashing.queue.size", executor, it -> it.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return execute("encode", encodeTimers, () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute("matches", matchesTimers, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(String operation, HashingTimers timers, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                timers.queueWait().record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timers.hashTime().record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full ({})", operation);
+            throw new RetryLaterException(ErrorCode.PASSWORD_HASHING_OVERLOADED, RETRY_AFTER);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RetryLaterException(ErrorCode.PASSWORD_HASHING_OVERLOADED, "hashing timed out", RETRY_AFTER);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetryLaterException(ErrorCode.PASSWORD_HASHING_OVERLOADED, "hashing interrupted", RETRY_AFTER);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record HashingTimers(Timer queueWait, Timer hashTime) {
+
+        static HashingTimers register(MeterRegistry meterRegistry, String operation) {
+            return new HashingTimers(
+                    Timer.builder("password.hashing.queue.wait").tag("operation", operation).register(meterRegistry),
+                    Timer.builder("password.hashing.time").tag("operation", operation).register(meterRegistry)
+            );
+        }
+
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
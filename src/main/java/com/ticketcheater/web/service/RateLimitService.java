@@ -0,0 +1,113 @@
+package com.ticketcheater.web.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketcheater.web.config.RateLimitProperties;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.RetryLaterException;
+import com.ticketcheater.web.repository.RateLimitRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Log4j2
+@Service
+public class RateLimitService {
+
+    private final RateLimitProperties properties;
+    private final RateLimitRepository rateLimitRepository;
+    private final Cache<String, TokenBucket> localBuckets;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitService(RateLimitProperties properties,
+                            RateLimitRepository rateLimitRepository,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimitRepository = rateLimitRepository;
+        this.meterRegistry = meterRegistry;
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public void check(String endpoint, String clientIp, String username) {
+        RateLimitProperties.EndpointLimit endpointLimit = properties.endpoints().get(endpoint);
+        if (!properties.enabled() || endpointLimit == null) {
+            return;
+        }
+
+        List<RateLimitRepository.Window> windows = new ArrayList<>(2);
+        addWindow(windows, endpoint, "ip", clientIp, endpointLimit.ip());
+        addWindow(windows, endpoint, "username", username, endpointLimit.username());
+
+        for (RateLimitRepository.Window window : windows) {
+            TokenBucket bucket = localBuckets.get(window.key(), it -> new TokenBucket(window.limit(), window.window()));
+            Duration retryAfter = bucket.tryConsume();
+            if (!retryAfter.isZero()) {
+                reject(endpoint, "local", window.key(), retryAfter);
+            }
+        }
+
+        if (windows.isEmpty()) {
+            return;
+        }
+        Duration retryAfter = rateLimitRepository.acquire(windows);
+        if (!retryAfter.isZero()) {
+            reject(endpoint, "redis", windows.get(0).key(), retryAfter);
+        }
+    }
+
+    private static void addWindow(List<RateLimitRepository.Window> windows, String endpoint, String dimension,
+                                  String value, RateLimitProperties.Limit limit) {
+        if (value == null || limit == null) {
+            return;
+        }
+        windows.add(new RateLimitRepository.Window(
+                String.format("%s:%s:%s", endpoint, dimension, value), limit.limit(), limit.window()
+        ));
+    }
+
+    private void reject(String endpoint, String source, String key, Duration retryAfter) {
+        log.warn("Rate limit exceeded {} ({})", key, source);
+        Counter.builder("rate.limit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        throw new RetryLaterException(ErrorCode.TOO_MANY_REQUESTS, String.format("endpoint is %s", endpoint), retryAfter);
+    }
+
+    private static class TokenBucket {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, Duration window) {
+            this.capacity = capacity;
+            this.refillPerNano = (double) capacity / window.toNanos();
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized Duration tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - tokens) / refillPerNano));
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.SeatHoldDTO;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.SeatHoldRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+@Service
+public class SeatHoldService {
+
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldRepository seatHoldRepository;
+    private final Duration ttl;
+    private final int maxSeats;
+    private final LocalSeatHolds localSeatHolds;
+
+    public SeatHoldService(SeatInventoryService seatInventoryService,
+                           SeatHoldRepository seatHoldRepository,
+                           LocalSeatHolds localSeatHolds,
+                           @Value("${seat-hold.ttl:5m}") Duration ttl,
+                           @Value("${seat-hold.max-seats:8}") int maxSeats) {
+        this.seatInventoryService = seatInventoryService;
+        this.seatHoldRepository = seatHoldRepository;
+        this.localSeatHolds = localSeatHolds;
+        this.ttl = ttl;
+        this.maxSeats = maxSeats;
+    }
+
+    /**
+     * The local seat bitmap keeps the seats HELD while the Redis hold lives, so attempts on this node racing for
+     * the same seats, or asking for held or sold ones, are rejected without a round-trip. Seats the holder already
+     * has on this node are only re-held in Redis.
+     */
+    public SeatHoldDTO hold(String username, Long gameId, Long sectionId, int[] seats) {
+        checkSeats(seats);
+        int[] taken = Arrays.stream(seats)
+                .filter(seat -> !localSeatHolds.isHeldBy(username, gameId, sectionId, seat))
+                .toArray();
+        if (taken.length > 0 && !seatInventoryService.hold(gameId, sectionId, taken)) {
+            throw new TicketApplicationException(ErrorCode.SEAT_NOT_AVAILABLE);
+        }
+        int conflict;
+        try {
+            conflict = seatHoldRepository.hold(gameId, sectionId, seats, username, ttl);
+        } catch (RuntimeException e) {
+            seatInventoryService.release(gameId, sectionId, taken);
+            throw e;
+        }
+        if (conflict > 0) {
+            seatInventoryService.release(gameId, sectionId, taken);
+            throw new TicketApplicationException(ErrorCode.SEAT_NOT_AVAILABLE, String.format("seat is %d", seats[conflict - 1]));
+        }
+        localSeatHolds.put(username, gameId, sectionId, seats, System.nanoTime() + ttl.toNanos());
+        return new SeatHoldDTO(gameId, sectionId, seats, username, Instant.now().plus(ttl));
+    }
+
+    public SeatHoldDTO extend(String username, Long gameId, Long sectionId, int[] seats) {
+        checkSeats(seats);
+        int lost = seatHoldRepository.extend(gameId, sectionId, seats, username, ttl);
+        if (lost > 0) {
+            throw new TicketApplicationException(ErrorCode.HOLD_NOT_FOUND, String.format("seat is %d", seats[lost - 1]));
+        }
+        localSeatHolds.extend(username, gameId, sectionId, seats, System.nanoTime() + ttl.toNanos());
+        return new SeatHoldDTO(gameId, sectionId, seats, username, Instant.now().plus(ttl));
+    }
+
+    public int release(String username, Long gameId, Long sectionId, int[] seats) {
+        checkSeats(seats);
+        int released = seatHoldRepository.release(gameId, sectionId, seats, username);
+        for (int seat : seats) {
+            if (localSeatHolds.remove(username, gameId, sectionId, seat)) {
+                seatInventoryService.release(gameId, sectionId, new int[]{seat});
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Frees the local seats whose Redis hold has run out. Redis expires the hold itself, so this only keeps the
+     * local bitmap from rejecting seats that became available again.
+     */
+    @Scheduled(fixedDelayString = "${seat-hold.sweep-interval:1s}")
+    public void sweepExpired() {
+        for (LocalSeatHolds.HeldSeat heldSeat : localSeatHolds.removeExpired(System.nanoTime())) {
+            seatInventoryService.release(heldSeat.gameId(), heldSeat.sectionId(), new int[]{heldSeat.seat()});
+        }
+    }
+
+    void checkSeats(int[] seats) {
+        if (seats == null || seats.length == 0 || seats.length > maxSeats) {
+            throw new TicketApplicationException(ErrorCode.INVALID_SEATS, String.format("between 1 and %d seats are allowed", maxSeats));
+        }
+        if (Arrays.stream(seats).distinct().count() != seats.length) {
+            throw new TicketApplicationException(ErrorCode.INVALID_SEATS, "seats must be distinct");
+        }
+    }
+
+}
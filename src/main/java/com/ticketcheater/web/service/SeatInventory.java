@@ -0,0 +1,172 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.entity.SeatStatus;
+import com.ticketcheater.web.entity.Section;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seat states of one game packed two bits per seat, 32 seats per word, each section starting on a word boundary.
+ * Every transition is a compare-and-set on the word holding the seat, so writers only contend on the same 32 seats.
+ */
+public class SeatInventory {
+
+    private static final int BITS_PER_SEAT = 2;
+    private static final int SEATS_PER_WORD = Long.SIZE / BITS_PER_SEAT;
+    private static final long SEAT_MASK = (1L << BITS_PER_SEAT) - 1;
+
+    private final Long gameId;
+    private final String place;
+    private final long[] sectionIds;
+    private final int[] seatCounts;
+    private final int[] wordOffsets;
+    private final LongAdder[] freeCounts;
+    private final AtomicLongArray words;
+
+    public SeatInventory(Long gameId, String place, List<Section> sections) {
+        List<Section> sorted = sections.stream().sorted((a, b) -> Long.compare(a.getId(), b.getId())).toList();
+        this.gameId = gameId;
+        this.place = place;
+        this.sectionIds = new long[sorted.size()];
+        this.seatCounts = new int[sorted.size()];
+        this.wordOffsets = new int[sorted.size()];
+        this.freeCounts = new LongAdder[sorted.size()];
+        int wordCount = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            Section section = sorted.get(i);
+            sectionIds[i] = section.getId();
+            seatCounts[i] = section.getSeatCount();
+            wordOffsets[i] = wordCount;
+            freeCounts[i] = new LongAdder();
+            freeCounts[i].add(section.getSeatCount());
+            wordCount += (section.getSeatCount() + SEATS_PER_WORD - 1) / SEATS_PER_WORD;
+        }
+        this.words = new AtomicLongArray(wordCount);
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public String getPlace() {
+        return place;
+    }
+
+    public int sectionCount() {
+        return sectionIds.length;
+    }
+
+    public long sectionIdAt(int index) {
+        return sectionIds[index];
+    }
+
+    public int seatCountAt(int index) {
+        return seatCounts[index];
+    }
+
+    public long freeCountAt(int index) {
+        return freeCounts[index].sum();
+    }
+
+    public long freeCount(long sectionId) {
+        return freeCounts[indexOf(sectionId)].sum();
+    }
+
+    public SeatStatus status(long sectionId, int seat) {
+        int section = indexOf(sectionId);
+        checkSeat(section, seat);
+        return SeatStatus.fromBits((int) ((words.get(wordIndex(section, seat)) >>> shift(seat)) & SEAT_MASK));
+    }
+
+    public boolean isFree(long sectionId, int seat) {
+        return status(sectionId, seat) == SeatStatus.FREE;
+    }
+
+    public boolean transition(long sectionId, int seat, SeatStatus from, SeatStatus to) {
+        int section = indexOf(sectionId);
+        checkSeat(section, seat);
+        return transition(section, seat, from, to);
+    }
+
+    /**
+     * Moves every seat from {@code from} to {@code to} or none of them. Seats taken before a failing one are put back,
+     * so a concurrent reader may briefly see them in {@code to} but never a partial result after this returns.
+     */
+    public boolean transitionAll(long sectionId, int[] seats, SeatStatus from, SeatStatus to) {
+        int section = indexOf(sectionId);
+        for (int seat : seats) {
+            checkSeat(section, seat);
+        }
+        for (int i = 0; i < seats.length; i++) {
+            if (!transition(section, seats[i], from, to)) {
+                for (int j = i - 1; j >= 0; j--) {
+                    transition(section, seats[j], to, from);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void set(long sectionId, int seat, SeatStatus status) {
+        int section = indexOf(sectionId);
+        checkSeat(section, seat);
+        while (true) {
+            int index = wordIndex(section, seat);
+            long word = words.get(index);
+            SeatStatus current = SeatStatus.fromBits((int) ((word >>> shift(seat)) & SEAT_MASK));
+            if (transition(section, seat, current, status)) {
+                return;
+            }
+        }
+    }
+
+    private boolean transition(int section, int seat, SeatStatus from, SeatStatus to) {
+        int index = wordIndex(section, seat);
+        int shift = shift(seat);
+        long expected = (long) from.bits() << shift;
+        long replacement = (long) to.bits() << shift;
+        while (true) {
+            long word = words.get(index);
+            if ((word & (SEAT_MASK << shift)) != expected) {
+                return false;
+            }
+            if (words.compareAndSet(index, word, (word & ~(SEAT_MASK << shift)) | replacement)) {
+                if (from == SeatStatus.FREE && to != SeatStatus.FREE) {
+                    freeCounts[section].decrement();
+                } else if (from != SeatStatus.FREE && to == SeatStatus.FREE) {
+                    freeCounts[section].increment();
+                }
+                return true;
+            }
+        }
+    }
+
+    private int indexOf(long sectionId) {
+        int index = Arrays.binarySearch(sectionIds, sectionId);
+        if (index < 0) {
+            throw new TicketApplicationException(ErrorCode.SECTION_NOT_FOUND, String.format("sectionId is %d", sectionId));
+        }
+        return index;
+    }
+
+    private void checkSeat(int section, int seat) {
+        if (seat < 0 || seat >= seatCounts[section]) {
+            throw new TicketApplicationException(ErrorCode.SEAT_NOT_FOUND, String.format("seat is %d", seat));
+        }
+    }
+
+    private int wordIndex(int section, int seat) {
+        return wordOffsets[section] + seat / SEATS_PER_WORD;
+    }
+
+    private static int shift(int seat) {
+        return (seat % SEATS_PER_WORD) * BITS_PER_SEAT;
+    }
+
+}
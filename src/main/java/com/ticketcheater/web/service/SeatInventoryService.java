@@ -0,0 +1,147 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.SectionAvailabilityDTO;
+import com.ticketcheater.web.dto.SectionDTO;
+import com.ticketcheater.web.entity.Game;
+import com.ticketcheater.web.entity.GameSeat;
+import com.ticketcheater.web.entity.SeatStatus;
+import com.ticketcheater.web.entity.Section;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.GameRepository;
+import com.ticketcheater.web.repository.GameSeatRepository;
+import com.ticketcheater.web.repository.SeatHoldRepository;
+import com.ticketcheater.web.repository.SectionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+public class SeatInventoryService {
+
+    private static final int MAX_SEATS_PER_SECTION = 100_000;
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+    private final SectionRepository sectionRepository;
+    private final GameSeatRepository gameSeatRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final LocalSeatHolds localSeatHolds;
+    private final Cache<Long, SeatInventory> inventories;
+
+    public SeatInventoryService(GameService gameService,
+                                GameRepository gameRepository,
+                                SectionRepository sectionRepository,
+                                GameSeatRepository gameSeatRepository,
+                                SeatHoldRepository seatHoldRepository,
+                                LocalSeatHolds localSeatHolds,
+                                @Value("${seat-inventory.maximum-size:1000}") long maximumSize,
+                                @Value("${seat-inventory.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.gameService = gameService;
+        this.gameRepository = gameRepository;
+        this.sectionRepository = sectionRepository;
+        this.gameSeatRepository = gameSeatRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.localSeatHolds = localSeatHolds;
+        this.inventories = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public SectionDTO createSection(String username, String place, String name, int seatCount) {
+        gameService.checkAdmin(username);
+        if (place == null || place.isBlank() || name == null || name.isBlank() || seatCount <= 0 || seatCount > MAX_SEATS_PER_SECTION) {
+            throw new TicketApplicationException(ErrorCode.INVALID_SECTION, String.format("seatCount must be between 1 and %d", MAX_SEATS_PER_SECTION));
+        }
+        SectionDTO section = SectionDTO.from(sectionRepository.save(Section.of(place, name, seatCount)));
+        // Inventories lay out their sections once, so games at this place are reloaded with the new section.
+        inventories.asMap().values().removeIf(it -> place.equals(it.getPlace()));
+        return section;
+    }
+
+    public SeatInventory getInventory(Long gameId) {
+        return inventories.get(gameId, this::load);
+    }
+
+    public void rebuild(String username, Long gameId) {
+        gameService.checkAdmin(username);
+        List<GameSeat> seats = gameSeatRepository.findAllByGameId(gameId);
+        inventories.put(gameId, load(gameId, seats));
+        seats.stream()
+                .filter(it -> it.getStatus() == SeatStatus.SOLD)
+                .collect(Collectors.groupingBy(GameSeat::getSectionId, Collectors.mapping(GameSeat::getSeatNumber, Collectors.toList())))
+                .forEach((sectionId, sold) -> seatHoldRepository.markSold(gameId, sectionId, sold.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    public List<SectionAvailabilityDTO> getAvailability(Long gameId) {
+        SeatInventory inventory = getInventory(gameId);
+        List<SectionAvailabilityDTO> availability = new ArrayList<>(inventory.sectionCount());
+        for (int i = 0; i < inventory.sectionCount(); i++) {
+            availability.add(new SectionAvailabilityDTO(inventory.sectionIdAt(i), inventory.seatCountAt(i), inventory.freeCountAt(i)));
+        }
+        return availability;
+    }
+
+    public SeatStatus getStatus(Long gameId, Long sectionId, int seat) {
+        return getInventory(gameId).status(sectionId, seat);
+    }
+
+    public boolean hold(Long gameId, Long sectionId, int[] seats) {
+        return getInventory(gameId).transitionAll(sectionId, seats, SeatStatus.FREE, SeatStatus.HELD);
+    }
+
+    public void release(Long gameId, Long sectionId, int[] seats) {
+        SeatInventory inventory = inventories.getIfPresent(gameId);
+        if (inventory == null) {
+            return;
+        }
+        for (int seat : seats) {
+            inventory.transition(sectionId, seat, SeatStatus.HELD, SeatStatus.FREE);
+        }
+    }
+
+    public void markSold(Long gameId, Long sectionId, int[] seats) {
+        SeatInventory inventory = inventories.getIfPresent(gameId);
+        if (inventory == null) {
+            return;
+        }
+        for (int seat : seats) {
+            inventory.set(sectionId, seat, SeatStatus.SOLD);
+        }
+    }
+
+    private SeatInventory load(Long gameId) {
+        return load(gameId, gameSeatRepository.findAllByGameId(gameId));
+    }
+
+    private SeatInventory load(Long gameId, List<GameSeat> seats) {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new TicketApplicationException(ErrorCode.GAME_NOT_FOUND));
+        SeatInventory inventory = new SeatInventory(gameId, game.getPlace(), sectionRepository.findAllByPlaceOrderById(game.getPlace()));
+        for (GameSeat seat : seats) {
+            inventory.set(seat.getSectionId(), seat.getSeatNumber(), seat.getStatus());
+        }
+        // MySQL lags the booking stream, so seats sold in Redis but not yet drained, and seats this node still
+        // holds, are laid over the persisted state.
+        seatHoldRepository.findSold(gameId).forEach((sectionId, sold) -> {
+            for (int seat : sold) {
+                inventory.set(sectionId, seat, SeatStatus.SOLD);
+            }
+        });
+        for (LocalSeatHolds.HeldSeat held : localSeatHolds.findByGame(gameId)) {
+            inventory.transition(held.sectionId(), held.seat(), SeatStatus.FREE, SeatStatus.HELD);
+        }
+        log.info("Load seat inventory of game {} with {} sections, {} seats taken", gameId, inventory.sectionCount(), seats.size());
+        return inventory;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.event.GameChangedEvent;
+import com.ticketcheater.web.event.GamesImportedEvent;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
+import com.ticketcheater.web.repository.GameRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Log4j2
+@Component
+public class UpcomingGameIndex implements MessageListener {
+
+    private final GameRepository gameRepository;
+    private final Object loadLock = new Object();
+    private volatile Index index = new Index();
+    private Map<Long, Optional<GameSummaryDTO>> changedDuringLoad;
+
+    public UpcomingGameIndex(GameRepository gameRepository,
+                             RedisMessageListenerContainer listenerContainer) {
+        this.gameRepository = gameRepository;
+        listenerContainer.addMessageListener(this, List.of(
+                new ChannelTopic(GameCatalogCacheRepository.GAME_CHANNEL),
+                new ChannelTopic(GameCatalogCacheRepository.RELOAD_CHANNEL)
+        ));
+    }
+
+    public List<GameSummaryDTO> find(Category category, Instant from, Instant to, int limit) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        Index current = index;
+        NavigableMap<Slot, GameSummaryDTO> games = category == null ? current.all() : current.byCategory().get(category);
+        List<GameSummaryDTO> found = new ArrayList<>(limit);
+        for (GameSummaryDTO game : games.subMap(Slot.lowest(from), true, Slot.lowest(to), false).values()) {
+            if (found.size() == limit) {
+                break;
+            }
+            found.add(game);
+        }
+        return found;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (loadLock) {
+            synchronized (this) {
+                changedDuringLoad = new HashMap<>();
+            }
+            try {
+                List<GameSummaryDTO> games = gameRepository.findAllSummariesStartingAfter(Timestamp.from(Instant.now()));
+                rebuild(games);
+                log.info("Load upcoming game index with {} games", games.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to load upcoming game index {}", e.getMessage());
+            } finally {
+                synchronized (this) {
+                    changedDuringLoad = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Swaps in an index built from a database snapshot. Changes applied while the snapshot was being read are
+     * replayed on top of it, so a stale snapshot never overwrites a newer update.
+     */
+    synchronized void rebuild(List<GameSummaryDTO> games) {
+        Index rebuilt = new Index();
+        games.forEach(rebuilt::upsert);
+        if (changedDuringLoad != null) {
+            changedDuringLoad.forEach((id, game) -> game.ifPresentOrElse(rebuilt::upsert, () -> rebuilt.remove(id)));
+        }
+        index = rebuilt;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        upsert(event.game());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesImported(GamesImportedEvent event) {
+        load();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (GameCatalogCacheRepository.isRemoteReload(message)) {
+            load();
+            return;
+        }
+        GameCatalogCacheRepository.parseGameChanged(new String(message.getBody(), StandardCharsets.UTF_8))
+                .ifPresent(id -> gameRepository.findSummaryById(id).ifPresentOrElse(this::upsert, () -> remove(id)));
+    }
+
+    @Scheduled(fixedDelayString = "${upcoming-games.eviction-interval:1m}")
+    public synchronized void evictStarted() {
+        NavigableMap<Slot, GameSummaryDTO> started = index.all().headMap(Slot.lowest(Instant.now()), false);
+        int evicted = started.size();
+        for (Slot slot : started.keySet()) {
+            remove(slot.id());
+        }
+        if (evicted > 0) {
+            log.info("Evict {} started games from upcoming game index", evicted);
+        }
+    }
+
+    synchronized void upsert(GameSummaryDTO game) {
+        if (game.id() == null) {
+            return;
+        }
+        index.upsert(game);
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(game.id(), Optional.of(game));
+        }
+    }
+
+    synchronized void remove(Long id) {
+        index.remove(id);
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(id, Optional.empty());
+        }
+    }
+
+    private record Index(ConcurrentSkipListMap<Slot, GameSummaryDTO> all,
+                         Map<Category, ConcurrentSkipListMap<Slot, GameSummaryDTO>> byCategory,
+                         Map<Long, Slot> slots) {
+
+        Index() {
+            this(new ConcurrentSkipListMap<>(), new EnumMap<>(Category.class), new ConcurrentHashMap<>());
+            for (Category category : Category.values()) {
+                byCategory.put(category, new ConcurrentSkipListMap<>());
+            }
+        }
+
+        void upsert(GameSummaryDTO game) {
+            if (game.id() == null) {
+                return;
+            }
+            remove(game.id());
+            if (game.startedAt() == null || game.category() == null || !game.startedAt().toInstant().isAfter(Instant.now())) {
+                return;
+            }
+            Slot slot = new Slot(game.startedAt().getTime(), game.id());
+            all.put(slot, game);
+            byCategory.get(game.category()).put(slot, game);
+            slots.put(game.id(), slot);
+        }
+
+        void remove(Long id) {
+            Slot slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            GameSummaryDTO removed = all.remove(slot);
+            if (removed != null) {
+                byCategory.get(removed.category()).remove(slot);
+            }
+        }
+
+    }
+
+    private record Slot(long startedAt, long id) implements Comparable<Slot> {
+
+        static Slot lowest(Instant instant) {
+            return new Slot(instant.toEpochMilli(), Long.MIN_VALUE);
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int compared = Long.compare(startedAt, other.startedAt);
+            return compared != 0 ? compared : Long.compare(id, other.id);
+        }
+
+    }
+
+}
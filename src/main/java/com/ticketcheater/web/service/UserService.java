@@ -1,18 +1,31 @@
 package com.ticketcheater.web.service;
 
+import com.ticketcheater.web.config.ExecutorConfig;
 import com.ticketcheater.web.dto.UserDTO;
 import com.ticketcheater.web.entity.User;
+import com.ticketcheater.web.event.UserSignedUpEvent;
 import com.ticketcheater.web.exception.ErrorCode;
 import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.jwt.AccessTokenDenylist;
+import com.ticketcheater.web.jwt.AuthenticationCache;
 import com.ticketcheater.web.jwt.JwtTokenProvider;
 import com.ticketcheater.web.jwt.TokenDTO;
+import com.ticketcheater.web.jwt.VerifiedClaims;
+import com.ticketcheater.web.repository.TokenVersionRepository;
 import com.ticketcheater.web.repository.UserCacheRepository;
 import com.ticketcheater.web.repository.UserRepository;
+import com.ticketcheater.web.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
@@ -20,42 +33,88 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserCacheRepository userCacheRepository;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final AuthenticationCache authenticationCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final KnownUsernames knownUsernames;
+    private final TokenVersionRepository tokenVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<String, UserDTO> userLoads = new SingleFlight<>();
+    @Qualifier(ExecutorConfig.USER_REFRESH_EXECUTOR)
+    private final Executor userRefreshExecutor;
+
+    @Value("${user-cache.refresh-ahead:10m}")
+    private Duration refreshAhead;
 
-    @Transactional
     public UserDTO signup(String username, String password, String email, String nickname) {
         userRepository.findByUsername(username).ifPresent(it -> {
             throw new TicketApplicationException(
                 ErrorCode.DUPLICATED_USERNAME, String.format("Username is %s", username));
         });
 
-        User user = userRepository.save(User.of(username, encoder.encode(password), email, nickname));
-        return UserDTO.from(user);
+        String encodedPassword = passwordHashingService.encode(password);
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.save(User.of(username, encodedPassword, email, nickname));
+            eventPublisher.publishEvent(new UserSignedUpEvent(username));
+            return UserDTO.from(user);
+        });
     }
 
     public UserDTO loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userCacheRepository.getUser(username).orElseGet(
-                () -> userRepository.findByUsername(username).map(UserDTO::from).orElseThrow(
-                        () -> new TicketApplicationException(ErrorCode.USER_NOT_FOUND, String.format("username is %s", username))
-        ));
+        if (!knownUsernames.mightExist(username)) {
+            throw new TicketApplicationException(ErrorCode.USER_NOT_FOUND, String.format("username is %s", username));
+        }
+        UserDTO cached = userCacheRepository.getUser(username).orElse(null);
+        if (cached == null) {
+            if (userCacheRepository.isMissing(username)) {
+                throw new TicketApplicationException(ErrorCode.USER_NOT_FOUND, String.format("username is %s", username));
+            }
+            return userLoads.execute(username, () -> loadUserFromDatabase(username));
+        }
+        if (userCacheRepository.isExpiringWithin(username, refreshAhead)) {
+            userLoads.executeAsync(username, () -> loadUserFromDatabase(username), userRefreshExecutor);
+        }
+        return cached;
     }
 
-    public TokenDTO login(String username, String password) {
+    private UserDTO loadUserFromDatabase(String username) {
+        UserDTO user = userRepository.findByUsername(username).map(UserDTO::from).orElse(null);
+        if (user == null) {
+            userCacheRepository.setMissing(username);
+            throw new TicketApplicationException(ErrorCode.USER_NOT_FOUND, String.format("username is %s", username));
+        }
+        userCacheRepository.setUser(user);
+        return user;
+    }
+
+    public TokenDTO login(String username, String password, String deviceId) {
         UserDTO savedUser = loadUserByUsername(username);
         userCacheRepository.setUser(savedUser);
-        if (!encoder.matches(password, savedUser.getPassword())) {
+        if (!passwordHashingService.matches(password, savedUser.getPassword())) {
             throw new TicketApplicationException(ErrorCode.INVALID_PASSWORD);
         }
 
-        String accessToken = jwtTokenProvider.generateAccessToken(username);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(username);
+        String sessionId = deviceId == null || deviceId.isBlank() ? UUID.randomUUID().toString() : deviceId;
+        String accessToken = jwtTokenProvider.generateAccessToken(savedUser, sessionId);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(username, sessionId);
 
         return TokenDTO.of(accessToken, refreshToken);
     }
 
-    public void logout(String username) {
-        jwtTokenProvider.deleteRefreshToken(username);
+    public void logout(String username, VerifiedClaims accessToken) {
+        if (accessToken != null) {
+            jwtTokenProvider.deleteRefreshToken(username, accessToken.sessionId());
+            accessTokenDenylist.revoke(accessToken);
+        }
+        authenticationCache.invalidateUser(username);
+    }
+
+    public void logoutAll(String username) {
+        jwtTokenProvider.deleteAllRefreshTokens(username);
+        tokenVersionRepository.increaseVersion(username);
+        userCacheRepository.deleteUser(username);
     }
 
 }
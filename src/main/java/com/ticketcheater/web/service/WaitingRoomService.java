@@ -0,0 +1,138 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.WaitingRoomDTO;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.jwt.AdmissionClaims;
+import com.ticketcheater.web.jwt.AdmissionTokenProvider;
+import com.ticketcheater.web.repository.GameRepository;
+import com.ticketcheater.web.repository.WaitingRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+    private final WaitingRoomRepository waitingRoomRepository;
+    private final AdmissionTokenProvider admissionTokenProvider;
+    private final Map<Long, WaitingRoomRepository.Admission> snapshots = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public void open(String username, Long gameId, int ratePerSecond) {
+        gameService.checkAdmin(username);
+        if (ratePerSecond <= 0) {
+            throw new TicketApplicationException(ErrorCode.INVALID_ADMISSION_RATE);
+        }
+        if (!gameRepository.existsById(gameId)) {
+            throw new TicketApplicationException(ErrorCode.GAME_NOT_FOUND);
+        }
+        waitingRoomRepository.open(gameId, ratePerSecond);
+        refresh();
+    }
+
+    public void close(String username, Long gameId) {
+        gameService.checkAdmin(username);
+        waitingRoomRepository.close(gameId);
+        snapshots.remove(gameId);
+    }
+
+    public boolean isActive(Long gameId) {
+        return snapshots.containsKey(gameId);
+    }
+
+    public WaitingRoomDTO enter(String username, Long gameId) {
+        if (!isActive(gameId)) {
+            throw new TicketApplicationException(ErrorCode.WAITING_ROOM_NOT_FOUND);
+        }
+        long sequence = waitingRoomRepository.enter(gameId, username);
+        return position(username, gameId, sequence, admissionTokenProvider.generateQueueToken(username, gameId, sequence));
+    }
+
+    /**
+     * Answers from the signed sequence in the queue token and the admitted pointer of the last snapshot,
+     * so polling costs no Redis call however many clients are waiting.
+     */
+    public WaitingRoomDTO poll(String username, String queueToken) {
+        AdmissionClaims claims = admissionTokenProvider.verifyQueueToken(queueToken);
+        if (!claims.username().equals(username)) {
+            throw new TicketApplicationException(ErrorCode.INVALID_TOKEN, "queue token belongs to another user");
+        }
+        if (!isActive(claims.gameId())) {
+            throw new TicketApplicationException(ErrorCode.WAITING_ROOM_NOT_FOUND);
+        }
+        return position(username, claims.gameId(), claims.sequence(), queueToken);
+    }
+
+    /**
+     * Until the first snapshot has loaded, an empty snapshot says nothing about which rooms are open, so the
+     * active set is asked directly and the request is refused when it cannot be.
+     */
+    public boolean isAdmitted(String username, Long gameId, String admissionToken) {
+        if (!isGuarded(gameId)) {
+            return true;
+        }
+        if (admissionToken == null) {
+            return false;
+        }
+        try {
+            AdmissionClaims claims = admissionTokenProvider.verifyAdmissionToken(admissionToken);
+            return claims.username().equals(username) && claims.gameId().equals(gameId);
+        } catch (TicketApplicationException e) {
+            log.warn("Admission token is rejected {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${waiting-room.snapshot-interval:500ms}")
+    public void refresh() {
+        try {
+            Set<Long> active = new HashSet<>();
+            for (String id : waitingRoomRepository.getActiveGameIds()) {
+                Long gameId = Long.valueOf(id);
+                waitingRoomRepository.admit(gameId).ifPresent(admission -> {
+                    snapshots.put(gameId, admission);
+                    active.add(gameId);
+                });
+            }
+            snapshots.keySet().retainAll(active);
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh waiting room snapshots {}", e.getMessage());
+        }
+    }
+
+    private boolean isGuarded(Long gameId) {
+        if (loaded) {
+            return isActive(gameId);
+        }
+        try {
+            return waitingRoomRepository.isActive(gameId);
+        } catch (RuntimeException e) {
+            log.warn("Waiting room state of game {} is unknown, refusing admission {}", gameId, e.getMessage());
+            return true;
+        }
+    }
+
+    private WaitingRoomDTO position(String username, Long gameId, long sequence, String queueToken) {
+        WaitingRoomRepository.Admission admission = snapshots.get(gameId);
+        long position = admission == null ? sequence : sequence - admission.admitted();
+        if (position <= 0) {
+            return new WaitingRoomDTO(gameId, 0, Duration.ZERO, queueToken, admissionTokenProvider.generateAdmissionToken(username, gameId, sequence));
+        }
+        int rate = admission == null ? 1 : admission.rate();
+        return new WaitingRoomDTO(gameId, position, Duration.ofSeconds((position + rate - 1) / rate), queueToken, null);
+    }
+
+}
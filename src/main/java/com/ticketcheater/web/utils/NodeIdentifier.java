@@ -0,0 +1,13 @@
+package com.ticketcheater.web.utils;
+
+import java.util.UUID;
+
+public class NodeIdentifier {
+
+    public static final String VALUE = UUID.randomUUID().toString();
+
+    private NodeIdentifier() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+}
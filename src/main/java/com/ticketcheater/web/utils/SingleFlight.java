@@ -0,0 +1,66 @@
+package com.ticketcheater.web.utils;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            try {
+                return await(existing);
+            } catch (CancellationException e) {
+                return execute(key, loader);
+            }
+        }
+        return run(key, created, loader);
+    }
+
+    public void executeAsync(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, created) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(key, created, loader);
+                } catch (RuntimeException ignored) {
+                    // the failure is delivered to callers waiting on the same key
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.cancel(false);
+        }
+    }
+
+    private V run(K key, CompletableFuture<V> created, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.ticketcheater.web.config;
+
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.repository.IdempotencyRepository;
+import com.ticketcheater.web.utils.HashUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("필터 - 멱등성 키")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"seats\":[1,2]}";
+
+    private final IdempotencyRepository idempotencyRepository = mock(IdempotencyRepository.class);
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private final AtomicInteger handled = new AtomicInteger();
+    private IdempotencyFilter sut;
+
+    @BeforeEach
+    void setUp() {
+        scheduler.initialize();
+        sut = new IdempotencyFilter(idempotencyRepository,
+                new IdempotencyProperties(true, Duration.ofHours(1), Duration.ofSeconds(30), Duration.ofMillis(50), Duration.ofMillis(10)),
+                scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @DisplayName("처리를 마친 요청을 다시 보내면 저장한 응답을 돌려준다")
+    @Test
+    void givenCompletedRequest_whenRetrying_thenReplaysResponse() throws Exception {
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenReturn(completed(HashUtils.sha256(BODY)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request(BODY), response, chain(200));
+
+        Assertions.assertEquals(201, response.getStatus());
+        Assertions.assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        Assertions.assertEquals("{\"stored\":true}", response.getContentAsString());
+        Assertions.assertEquals(0, handled.get());
+    }
+
+    @DisplayName("같은 키를 다른 본문으로 다시 쓰면 422 를 돌려준다")
+    @Test
+    void givenCompletedRequest_whenRetryingWithOtherBody_thenRejects() throws Exception {
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenReturn(completed(HashUtils.sha256(BODY)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request("{\"seats\":[3]}"), response, chain(200));
+
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_KEY_MISMATCH.getStatus().value(), response.getStatus());
+        Assertions.assertEquals(0, handled.get());
+    }
+
+    @DisplayName("처리 중인 요청이 끝나지 않으면 409 를 돌려준다")
+    @Test
+    void givenInFlightRequest_whenRetrying_thenRejects() throws Exception {
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenReturn(IdempotencyRepository.Claim.IN_FLIGHT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request(BODY), response, chain(200));
+
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_FLIGHT.getStatus().value(), response.getStatus());
+        Assertions.assertEquals(0, handled.get());
+    }
+
+    @DisplayName("처리한 응답을 본문 해시와 함께 저장한다")
+    @Test
+    void givenNewKey_whenHandled_thenStoresResponseWithBodyHash() throws Exception {
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenReturn(IdempotencyRepository.Claim.ACQUIRED);
+        when(idempotencyRepository.complete(anyString(), anyString(), anyString(), any(), any())).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request(BODY), response, chain(200));
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals(1, handled.get());
+        verify(idempotencyRepository).complete(anyString(), anyString(), eq(HashUtils.sha256(BODY)), any(), any());
+        verify(idempotencyRepository, never()).release(anyString(), anyString());
+    }
+
+    @DisplayName("서버 오류로 끝난 요청은 저장하지 않고 키를 풀어 재시도를 허용한다")
+    @Test
+    void givenServerError_whenHandled_thenReleasesKey() throws Exception {
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenReturn(IdempotencyRepository.Claim.ACQUIRED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request(BODY), response, chain(500));
+
+        Assertions.assertEquals(500, response.getStatus());
+        verify(idempotencyRepository, never()).complete(anyString(), anyString(), anyString(), any(), any());
+        verify(idempotencyRepository).release(anyString(), anyString());
+    }
+
+    @DisplayName("오래 걸리는 요청은 처리 중 표시를 계속 갱신한다")
+    @Test
+    void givenSlowHandler_whenHandling_thenRenewsInFlightMarker() throws Exception {
+        sut = new IdempotencyFilter(idempotencyRepository,
+                new IdempotencyProperties(true, Duration.ofHours(1), Duration.ofMillis(30), Duration.ofMillis(50), Duration.ofMillis(10)),
+                scheduler);
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenReturn(IdempotencyRepository.Claim.ACQUIRED);
+        FilterChain slow = (request, response) -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(200);
+        };
+
+        sut.doFilter(request(BODY), new MockHttpServletResponse(), slow);
+
+        verify(idempotencyRepository, atLeastOnce()).renew(anyString(), anyString(), eq(Duration.ofMillis(30)));
+    }
+
+    @DisplayName("Redis 를 쓸 수 없으면 멱등성 없이 요청을 처리한다")
+    @Test
+    void givenRedisDown_whenHandling_thenRunsWithoutIdempotency() throws Exception {
+        when(idempotencyRepository.begin(anyString(), anyString(), any())).thenThrow(new RedisConnectionFailureException("down"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request(BODY), response, chain(200));
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals(1, handled.get());
+    }
+
+    @DisplayName("토큰을 발급하는 요청은 응답을 저장하지 않는다")
+    @Test
+    void givenLogin_whenHandling_thenSkipsIdempotency() throws Exception {
+        MockHttpServletRequest request = request(BODY);
+        request.setServletPath("/users/login");
+
+        sut.doFilter(request, new MockHttpServletResponse(), chain(200));
+
+        Assertions.assertEquals(1, handled.get());
+        verify(idempotencyRepository, never()).begin(anyString(), anyString(), any());
+    }
+
+    private MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/games/1/bookings");
+        request.setServletPath("/games/1/bookings");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_HEADER, "key");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private FilterChain chain(int status) {
+        return (request, response) -> {
+            handled.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            ((HttpServletResponse) response).setStatus(status);
+            response.getWriter().write("{}");
+        };
+    }
+
+    private IdempotencyRepository.Claim completed(String requestHash) {
+        return new IdempotencyRepository.Claim(IdempotencyRepository.State.COMPLETED, requestHash,
+                new IdempotencyRepository.StoredResponse(201, MediaType.APPLICATION_JSON_VALUE, "{\"stored\":true}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
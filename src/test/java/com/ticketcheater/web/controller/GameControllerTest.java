@@ -2,9 +2,17 @@ package com.ticketcheater.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ticketcheater.web.controller.request.GameRequest;
+import com.ticketcheater.web.controller.request.GameUpdateRequest;
+import com.ticketcheater.web.dto.GameImportResultDTO;
+import com.ticketcheater.web.dto.GameSliceDTO;
+import com.ticketcheater.web.dto.GameUpdateResultDTO;
 import com.ticketcheater.web.exception.ErrorCode;
 import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
+import com.ticketcheater.web.service.GameExportService;
+import com.ticketcheater.web.service.GameImportService;
 import com.ticketcheater.web.service.GameService;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,15 +24,19 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DisplayName("컨트롤러 - 게임")
@@ -38,6 +50,15 @@ class GameControllerTest {
     @MockBean
     GameService gameService;
 
+    @MockBean
+    GameCatalogResponseWriter gameCatalogResponseWriter;
+
+    @MockBean
+    GameImportService gameImportService;
+
+    @MockBean
+    GameExportService gameExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -93,6 +114,42 @@ class GameControllerTest {
                 .andExpect(status().is(ErrorCode.CATEGORY_NOT_FOUND.getStatus().value()));
     }
 
+    @DisplayName("관리자가 NDJSON 으로 게임을 일괄 등록한다")
+    @Test
+    @WithMockUser
+    void givenNdjson_whenImporting_thenReturnsImportStats() throws Exception {
+        when(gameImportService.importGames(any(), eq(GameImportService.Format.NDJSON), any()))
+                .thenReturn(new GameImportResultDTO(2, 2, 0, List.of(), 10));
+
+        mvc.perform(post("/admin/import")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(new GameRequest("e_sports", "title", "home", "away", "place", Timestamp.from(Instant.now()))) + "\n"
+                                + objectMapper.writeValueAsString(new GameRequest("soccer", "title", "home", "away", "place", Timestamp.from(Instant.now())))))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("마지막으로 받은 게임 이후부터 게임 목록을 스트리밍으로 내보낸다")
+    @Test
+    @WithMockUser
+    void givenAfterId_whenExporting_thenStreamsGames() throws Exception {
+        mvc.perform(get("/export")
+                        .param("category", "soccer")
+                        .param("afterId", "100"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @DisplayName("내보내기 요청에만 긴 비동기 제한 시간을 건다")
+    @Test
+    @WithMockUser
+    void givenExport_whenStreaming_thenUsesExportTimeout() throws Exception {
+        MvcResult result = mvc.perform(get("/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Assertions.assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+
     @DisplayName("게임을 안정적으로 조회한다")
     @Test
     @WithMockUser
@@ -105,6 +162,35 @@ class GameControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @DisplayName("첫 페이지 게임 목록은 미리 직렬화된 응답으로 내려준다")
+    @Test
+    @WithMockUser
+    void givenHotPage_whenSearching_thenWritesSerializedPage() throws Exception {
+        when(gameCatalogResponseWriter.isHot(any())).thenReturn(true);
+
+        mvc.perform(get("")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(gameCatalogResponseWriter).write(eq(GameCatalogCacheRepository.ALL_SCOPE), any(), any());
+        verify(gameService, never()).getGames(any());
+    }
+
+    @DisplayName("게임 목록이 바뀌지 않았으면 본문 없이 304 를 내려준다")
+    @Test
+    @WithMockUser
+    void givenUnchangedCatalog_whenSearching_thenReturnsNotModified() throws Exception {
+        when(gameCatalogResponseWriter.checkNotModified(eq(GameCatalogCacheRepository.ALL_SCOPE), any(), any(), any())).thenReturn(true);
+
+        mvc.perform(get("")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        verify(gameService, never()).getGames(any());
+    }
+
     @DisplayName("로그인하지 않은 유저가 게임을 조회하는 경우 오류를 내뱉는다")
     @Test
     @WithAnonymousUser
@@ -156,6 +242,49 @@ class GameControllerTest {
                 .andExpect(status().is(ErrorCode.INVALID_TOKEN.getStatus().value()));
     }
 
+    @DisplayName("커서로 게임을 안정적으로 조회한다")
+    @Test
+    @WithMockUser
+    void givenCursor_whenScrolling_thenReturnsGames() throws Exception {
+        when(gameService.getGameSliceByCategory(eq("e_sports"), eq("cursor"), eq(5))).thenReturn(new GameSliceDTO(List.of(), null));
+
+        mvc.perform(get("/e_sports/scroll")
+                        .param("cursor", "cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("기간 내 예정된 게임을 안정적으로 조회한다")
+    @Test
+    @WithMockUser
+    void givenDateWindow_whenSearchingUpcoming_thenReturnsGames() throws Exception {
+        Instant from = Instant.parse("2024-05-01T00:00:00Z");
+        Instant to = Instant.parse("2024-05-08T00:00:00Z");
+        when(gameService.getUpcomingGames(eq("soccer"), eq(from), eq(to), eq(20))).thenReturn(List.of());
+
+        mvc.perform(get("/upcoming")
+                        .param("category", "soccer")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("검색어로 게임을 안정적으로 검색한다")
+    @Test
+    @WithMockUser
+    void givenQuery_whenSearchingGames_thenReturnsGames() throws Exception {
+        when(gameService.searchGames(eq("한화"), eq(0), eq(20))).thenReturn(List.of());
+
+        mvc.perform(get("/search")
+                        .param("query", "한화")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
     @DisplayName("관리자가 안정적으로 게임을 수정한다")
     @Test
     @WithMockUser
@@ -208,4 +337,20 @@ class GameControllerTest {
                 .andExpect(status().is(ErrorCode.CATEGORY_NOT_FOUND.getStatus().value()));
     }
 
+    @DisplayName("관리자가 여러 게임을 한 번에 수정한다")
+    @Test
+    @WithMockUser
+    void givenGameUpdates_whenUpdatingInBatch_thenReturnsResultPerGame() throws Exception {
+        when(gameService.updateGames(any(), any())).thenReturn(List.of(GameUpdateResultDTO.updated(1L, 1L), GameUpdateResultDTO.conflict(2L, 4L)));
+
+        mvc.perform(patch("/admin/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(List.of(
+                                new GameUpdateRequest(1L, 0L, null, null, null, null, null, Timestamp.from(Instant.now())),
+                                new GameUpdateRequest(2L, 3L, null, "title", null, null, null, null)
+                        ))))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
 }
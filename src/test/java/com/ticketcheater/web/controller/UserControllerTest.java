@@ -5,10 +5,14 @@ import com.ticketcheater.web.controller.request.UserLoginRequest;
 import com.ticketcheater.web.controller.request.UserReissueRequest;
 import com.ticketcheater.web.controller.request.UserSignupRequest;
 import com.ticketcheater.web.dto.UserDTO;
+import com.ticketcheater.web.entity.UserRole;
 import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.RetryLaterException;
 import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.fixture.UserFixture;
 import com.ticketcheater.web.jwt.JwtTokenProvider;
 import com.ticketcheater.web.jwt.TokenDTO;
+import com.ticketcheater.web.service.RateLimitService;
 import com.ticketcheater.web.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,15 +20,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DisplayName("컨트롤러 - 회원")
@@ -41,6 +50,9 @@ class UserControllerTest {
     @MockBean
     JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    RateLimitService rateLimitService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -87,7 +99,7 @@ class UserControllerTest {
         String username = "username";
         String password = "password";
 
-        when(userService.login(username, password)).thenReturn(mock(TokenDTO.class));
+        when(userService.login(eq(username), eq(password), any())).thenReturn(mock(TokenDTO.class));
 
         mvc.perform(post("/users/login")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -103,7 +115,7 @@ class UserControllerTest {
         String username = "username";
         String password = "password";
 
-        when(userService.login(username, password)).thenThrow(new TicketApplicationException(ErrorCode.USER_NOT_FOUND));
+        when(userService.login(eq(username), eq(password), any())).thenThrow(new TicketApplicationException(ErrorCode.USER_NOT_FOUND));
 
         mvc.perform(post("/users/login")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -119,7 +131,7 @@ class UserControllerTest {
         String username = "username";
         String password = "password";
 
-        when(userService.login(username, password)).thenThrow(new TicketApplicationException(ErrorCode.INVALID_PASSWORD));
+        when(userService.login(eq(username), eq(password), any())).thenThrow(new TicketApplicationException(ErrorCode.INVALID_PASSWORD));
 
         mvc.perform(post("/users/login")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -128,16 +140,30 @@ class UserControllerTest {
                 .andExpect(status().is(ErrorCode.INVALID_PASSWORD.getStatus().value()));
     }
 
+    @DisplayName("요청 한도를 넘겨 로그인할 경우 Retry-After 와 함께 오류를 내뱉는다")
+    @Test
+    @WithAnonymousUser
+    void givenRateLimitedUser_whenLogin_thenThrowsError() throws Exception {
+        doThrow(new RetryLaterException(ErrorCode.TOO_MANY_REQUESTS, Duration.ofSeconds(30)))
+                .when(rateLimitService).check(eq("login"), any(), eq("username"));
+
+        mvc.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new UserLoginRequest("username", "password"))))
+                .andDo(print())
+                .andExpect(status().is(ErrorCode.TOO_MANY_REQUESTS.getStatus().value()))
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+    }
+
     @DisplayName("Refresh 토큰을 입력하면 Access 토큰을 재발급한다")
     @Test
-    @WithMockUser
     void givenRefreshToken_whenReissue_thenReceivesToken() throws Exception {
-        String username = "username";
         String refreshToken = "refresh_token";
 
-        when(jwtTokenProvider.reissueAccessToken(username, refreshToken)).thenReturn("new_token");
+        when(jwtTokenProvider.reissueAccessToken(any(), eq(refreshToken))).thenReturn(TokenDTO.of("new_token", "new_refresh_token"));
 
         mvc.perform(post("/users/reissue")
+                .with(user(UserDTO.from(UserFixture.get(UserRole.USER))))
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsBytes(new UserReissueRequest("refresh_token"))))
                 .andDo(print())
@@ -155,12 +181,24 @@ class UserControllerTest {
                 .andExpect(status().is(ErrorCode.INVALID_TOKEN.getStatus().value()));
     }
 
-    @DisplayName("만료된 Refresh 토큰을 입력하면 Access 토큰을 재발급하지 않는다")
+    @DisplayName("인증 주체가 회원 정보가 아니면 Access 토큰을 재발급하지 않는다")
     @Test
     @WithMockUser
+    void givenUnknownPrincipal_whenReissue_thenThrowsError() throws Exception {
+        mvc.perform(post("/users/reissue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new UserReissueRequest("refresh_token"))))
+                .andDo(print())
+                .andExpect(status().is(ErrorCode.INVALID_TOKEN.getStatus().value()));
+        verify(jwtTokenProvider, never()).reissueAccessToken(any(), any());
+    }
+
+    @DisplayName("만료된 Refresh 토큰을 입력하면 Access 토큰을 재발급하지 않는다")
+    @Test
     void givenExpiredRefreshToken_whenReissue_thenThrowsError() throws Exception {
         doThrow(new TicketApplicationException(ErrorCode.EXPIRED_TOKEN)).when(jwtTokenProvider).reissueAccessToken(any(), eq("refresh_token"));
         mvc.perform(post("/users/reissue")
+                .with(user(UserDTO.from(UserFixture.get(UserRole.USER))))
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsBytes(new UserReissueRequest("refresh_token"))))
                 .andDo(print())
@@ -177,6 +215,16 @@ class UserControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @DisplayName("모든 기기에서 로그아웃이 정상동작한다")
+    @Test
+    @WithMockUser
+    void givenNothing_whenLogoutAll_thenDeletesAllTokens() throws Exception {
+        mvc.perform(post("/users/logout/all")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
     @DisplayName("로그인하지 않은 유저가 로그아웃할 경우 오류를 내뱉는다")
     @Test
     @WithAnonymousUser
@@ -0,0 +1,85 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.repository.GameRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+@DisplayName("비즈니스 로직 - 게임 검색 인덱스")
+class GameSearchIndexTest {
+
+    private final GameSearchIndex sut = new GameSearchIndex(mock(GameRepository.class), mock(RedisMessageListenerContainer.class));
+
+    @DisplayName("한글과 영문 사이, 구분자마다 토큰을 나눈다")
+    @Test
+    void givenMixedText_whenTokenizing_thenSplitsByScriptAndSeparator() {
+        Assertions.assertEquals(List.of("t1", "vs", "kt", "롤드컵"), GameSearchIndex.tokenize("T1 vs. KT롤드컵"));
+        Assertions.assertEquals(List.of(), GameSearchIndex.tokenize("  "));
+        Assertions.assertEquals(List.of(), GameSearchIndex.tokenize(null));
+    }
+
+    @DisplayName("한글은 단어 중간 글자로도 검색된다")
+    @Test
+    void givenHangulInfix_whenSearching_thenFindsGame() {
+        sut.rebuild(List.of(game(1L, "한화이글스 개막전", 1)));
+
+        Assertions.assertEquals(List.of(1L), ids(sut.search("이글", 0, 10)));
+        Assertions.assertEquals(List.of(1L), ids(sut.search("글스", 0, 10)));
+    }
+
+    @DisplayName("정확히 일치하는 게임을 접두어, 중간 일치보다 먼저 돌려준다")
+    @Test
+    void givenDifferentMatches_whenSearching_thenRanksExactFirst() {
+        sut.rebuild(List.of(
+                game(1L, "두산베어스", 1),
+                game(2L, "베어스타운", 2),
+                game(3L, "베어스", 3)
+        ));
+
+        Assertions.assertEquals(List.of(3L, 2L, 1L), ids(sut.search("베어스", 0, 10)));
+        Assertions.assertEquals(List.of(2L), ids(sut.search("베어스", 1, 1)));
+    }
+
+    @DisplayName("게임을 바꾸거나 지우면 검색 결과에 바로 반영한다")
+    @Test
+    void givenUpsertAndRemove_whenSearching_thenReflectsChanges() {
+        sut.rebuild(List.of(game(1L, "한화이글스", 1)));
+
+        sut.upsert(game(1L, "기아타이거즈", 1));
+        Assertions.assertEquals(List.of(), ids(sut.search("한화", 0, 10)));
+        Assertions.assertEquals(List.of(1L), ids(sut.search("타이거", 0, 10)));
+
+        sut.remove(1L);
+        Assertions.assertEquals(List.of(), ids(sut.search("타이거", 0, 10)));
+    }
+
+    @DisplayName("다시 만들면 새 게임 목록과 색인을 한 번에 바꾼다")
+    @Test
+    void givenRebuild_whenSearching_thenUsesOnlyNewGames() {
+        sut.rebuild(List.of(game(1L, "한화이글스", 1), game(2L, "한화vs기아", 2)));
+
+        sut.rebuild(List.of(game(2L, "한화vs기아", 2), game(3L, "한화 개막전", 3)));
+
+        Assertions.assertEquals(List.of(2L, 3L), ids(sut.search("한화", 0, 10)));
+    }
+
+    private GameSummaryDTO game(Long id, String title, int days) {
+        Timestamp startedAt = Timestamp.from(Instant.now().plus(days, ChronoUnit.DAYS));
+        return new GameSummaryDTO(id, Category.BASEBALL, title, "home", "away", "place", startedAt, 0L);
+    }
+
+    private List<Long> ids(List<GameSummaryDTO> games) {
+        return games.stream().map(GameSummaryDTO::id).toList();
+    }
+
+}
@@ -1,6 +1,12 @@
 package com.ticketcheater.web.service;
 
+import com.ticketcheater.web.dto.GameCursor;
 import com.ticketcheater.web.dto.GameDTO;
+import com.ticketcheater.web.dto.GamePageDTO;
+import com.ticketcheater.web.dto.GameSliceDTO;
+import com.ticketcheater.web.dto.GameSummaryDTO;
+import com.ticketcheater.web.dto.GameUpdateDTO;
+import com.ticketcheater.web.dto.GameUpdateResultDTO;
 import com.ticketcheater.web.entity.Category;
 import com.ticketcheater.web.entity.Game;
 import com.ticketcheater.web.entity.UserRole;
@@ -8,6 +14,7 @@ import com.ticketcheater.web.exception.ErrorCode;
 import com.ticketcheater.web.exception.TicketApplicationException;
 import com.ticketcheater.web.fixture.GameDTOFixture;
 import com.ticketcheater.web.fixture.UserFixture;
+import com.ticketcheater.web.repository.GameCatalogCacheRepository;
 import com.ticketcheater.web.repository.GameRepository;
 import com.ticketcheater.web.repository.UserRepository;
 import org.junit.jupiter.api.Assertions;
@@ -17,12 +24,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @DisplayName("비즈니스 로직 - 게임")
 @SpringBootTest
@@ -37,6 +49,9 @@ class GameServiceTest {
     @MockBean
     UserRepository userRepository;
 
+    @MockBean
+    GameCatalogCacheRepository gameCatalogCacheRepository;
+
     @DisplayName("관리자가 안정적으로 게임을 생성한다")
     @Test
     void givenGameInfo_whenCreating_thenSavesGame() {
@@ -78,14 +93,62 @@ class GameServiceTest {
         Assertions.assertEquals(ErrorCode.CATEGORY_NOT_FOUND, exception.getCode());
     }
 
+    @DisplayName("시작 시간이 없는 게임을 생성할 경우 오류를 내뱉는다")
+    @Test
+    void givenNoStartedAt_whenCreating_thenThrowsError() {
+        String username = "master";
+        GameDTO dto = GameDTO.of("e_sports", "title", "home", "away", "place", null);
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(UserFixture.get(UserRole.ADMIN)));
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.createGame(username, dto));
+
+        Assertions.assertEquals(ErrorCode.INVALID_GAME, exception.getCode());
+        verify(gameRepository, never()).save(any());
+    }
+
     @DisplayName("게임을 안정적으로 조회한다")
     @Test
     void givenNothing_whenSearching_thenReturnGames() {
         Pageable pageable = mock(Pageable.class);
 
-        when(gameRepository.findAll(pageable)).thenReturn(Page.empty());
+        when(gameRepository.findAllSummaries(pageable)).thenReturn(Page.empty());
+
+        Assertions.assertDoesNotThrow(() -> sut.getGames(pageable));
+    }
+
+    @DisplayName("캐시된 게임 목록이 있으면 DB 를 조회하지 않는다")
+    @Test
+    void givenCachedPage_whenSearching_thenSkipsDatabase() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("startedAt"));
+        String key = GameCatalogCacheRepository.getPageKey(GameCatalogCacheRepository.ALL_SCOPE, 3L, pageable);
+
+        when(gameCatalogCacheRepository.getVersion(GameCatalogCacheRepository.ALL_SCOPE)).thenReturn(3L);
+        when(gameCatalogCacheRepository.getPage(key)).thenReturn(Optional.of(new GamePageDTO(List.of(new GameSummaryDTO(1L, Category.E_SPORTS, "title", "home", "away", "place", Timestamp.from(Instant.now()), 0L)), 1L)));
+
+        Page<GameSummaryDTO> page = sut.getGames(pageable);
+
+        Assertions.assertEquals(1L, page.getTotalElements());
+        verify(gameRepository, never()).findAllSummaries(any(Pageable.class));
+    }
+
+    @DisplayName("캐시 대상이 아닌 페이지는 캐시 키를 만들지 않고 DB 를 조회한다")
+    @Test
+    void givenDeepPage_whenSearching_thenSkipsCache() {
+        Pageable pageable = PageRequest.of(1000, 5, Sort.by("startedAt"));
+
+        when(gameRepository.findAllSummaries(pageable)).thenReturn(Page.empty());
 
         Assertions.assertDoesNotThrow(() -> sut.getGames(pageable));
+        verify(gameCatalogCacheRepository, never()).getPage(any());
+        verify(gameCatalogCacheRepository, never()).setPage(any(), any());
+    }
+
+    @DisplayName("검색 결과 한도를 넘는 페이지는 인덱스를 뒤지지 않고 빈 결과를 돌려준다")
+    @Test
+    void givenPageBeyondLimit_whenSearchingGames_thenReturnsEmpty() {
+        Assertions.assertEquals(List.of(), sut.searchGames("한화", Integer.MAX_VALUE, 100));
     }
 
     @DisplayName("카테고리가 적절한 게임을 안정적으로 조회한다")
@@ -94,7 +157,7 @@ class GameServiceTest {
         String category = "e_sports";
         Pageable pageable = mock(Pageable.class);
 
-        when(gameRepository.findAllByCategory(pageable, Category.fromString(category))).thenReturn(Page.empty());
+        when(gameRepository.findAllSummariesByCategory(Category.fromString(category), pageable)).thenReturn(Page.empty());
 
         Assertions.assertDoesNotThrow(() -> sut.getGamesByCategory(category, pageable));
     }
@@ -111,6 +174,30 @@ class GameServiceTest {
         Assertions.assertEquals(ErrorCode.CATEGORY_NOT_FOUND, exception.getCode());
     }
 
+    @DisplayName("커서 이후의 게임을 조회하고 다음 커서를 반환한다")
+    @Test
+    void givenCursor_whenScrolling_thenReturnsSliceWithNextCursor() {
+        Timestamp startedAt = Timestamp.from(Instant.parse("2024-05-01T10:00:00Z"));
+        GameCursor cursor = new GameCursor(startedAt, 10L);
+        List<Game> games = List.of(game(11L, startedAt), game(12L, startedAt), game(13L, startedAt));
+
+        when(gameRepository.findSliceAfter(startedAt, 10L, 3)).thenReturn(games);
+
+        GameSliceDTO slice = sut.getGameSlice(cursor.encode(), 2);
+
+        Assertions.assertEquals(2, slice.content().size());
+        Assertions.assertEquals(new GameCursor(startedAt, 12L), slice.next());
+    }
+
+    @DisplayName("적절하지 않은 커서로 조회할 경우 오류를 내뱉는다")
+    @Test
+    void givenInvalidCursor_whenScrolling_thenThrowsError() {
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.getGameSlice("wrong", 5));
+
+        Assertions.assertEquals(ErrorCode.INVALID_CURSOR, exception.getCode());
+    }
+
     @DisplayName("관리자가 안정적으로 게임을 수정한다")
     @Test
     void givenGameInfo_whenUpdating_thenUpdatesGame() {
@@ -174,4 +261,37 @@ class GameServiceTest {
         Assertions.assertEquals(ErrorCode.GAME_NOT_FOUND, exception.getCode());
     }
 
+    @DisplayName("여러 게임을 한 번에 수정하고 버전이 맞지 않는 게임은 충돌로 알려준다")
+    @Test
+    void givenStaleVersion_whenUpdatingInBatch_thenReportsConflictPerGame() {
+        String username = "master";
+        Timestamp startedAt = Timestamp.from(Instant.now());
+        Game fresh = game(1L, startedAt);
+        fresh.setVersion(0L);
+        Game modified = game(2L, startedAt);
+        modified.setVersion(3L);
+        List<GameUpdateDTO> updates = List.of(
+                new GameUpdateDTO(1L, 0L, null, null, null, null, null, Timestamp.from(Instant.now().plusSeconds(3600))),
+                new GameUpdateDTO(2L, 2L, null, "title", null, null, null, null),
+                new GameUpdateDTO(3L, null, null, "title", null, null, null, null)
+        );
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(UserFixture.get(UserRole.ADMIN)));
+        when(gameRepository.findAllById(any())).thenReturn(List.of(fresh, modified));
+
+        List<GameUpdateResultDTO> results = sut.updateGames(username, updates);
+
+        Assertions.assertEquals(GameUpdateResultDTO.Status.UPDATED, results.get(0).status());
+        Assertions.assertEquals(GameUpdateResultDTO.Status.CONFLICT, results.get(1).status());
+        Assertions.assertEquals(3L, results.get(1).version());
+        Assertions.assertEquals(GameUpdateResultDTO.Status.NOT_FOUND, results.get(2).status());
+        verify(gameRepository, never()).findById(any());
+    }
+
+    private Game game(Long id, Timestamp startedAt) {
+        Game game = Game.of(Category.E_SPORTS, "title", "home", "away", "place", startedAt);
+        game.setId(id);
+        return game;
+    }
+
 }
@@ -0,0 +1,79 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.event.UserInvalidatedEvent;
+import com.ticketcheater.web.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("비즈니스 로직 - 가입된 유저 필터")
+class KnownUsernamesTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @DisplayName("필터를 만들기 전에는 모든 유저가 있을 수 있다고 답한다")
+    @Test
+    void givenNoFilter_whenChecking_thenMightExist() {
+        KnownUsernames sut = new KnownUsernames(userRepository, true);
+
+        Assertions.assertTrue(sut.mightExist("username"));
+    }
+
+    @DisplayName("필터를 만들면 가입하지 않은 유저를 걸러낸다")
+    @Test
+    void givenFilter_whenChecking_thenRejectsUnknownUser() {
+        KnownUsernames sut = new KnownUsernames(userRepository, true);
+        when(userRepository.findAllUsernames()).thenReturn(List.of("username", "other"));
+
+        sut.rebuild();
+
+        Assertions.assertTrue(sut.mightExist("username"));
+        Assertions.assertTrue(sut.mightExist("other"));
+        Assertions.assertFalse(sut.mightExist("unknown"));
+    }
+
+    @DisplayName("다시 만드는 동안 가입한 유저도 필터에 남는다")
+    @Test
+    void givenSignupDuringRebuild_whenRebuilding_thenKeepsNewUser() {
+        KnownUsernames sut = new KnownUsernames(userRepository, true);
+        when(userRepository.findAllUsernames()).thenAnswer(invocation -> {
+            sut.onUserInvalidated(new UserInvalidatedEvent("signup"));
+            return List.of("username");
+        });
+
+        sut.rebuild();
+
+        Assertions.assertTrue(sut.mightExist("signup"));
+    }
+
+    @DisplayName("필터를 만든 뒤에 가입한 유저를 바로 반영한다")
+    @Test
+    void givenFilter_whenUserSignsUp_thenMightExist() {
+        KnownUsernames sut = new KnownUsernames(userRepository, true);
+        when(userRepository.findAllUsernames()).thenReturn(List.of("username"));
+        sut.rebuild();
+
+        sut.onUserInvalidated(new UserInvalidatedEvent("signup"));
+
+        Assertions.assertTrue(sut.mightExist("signup"));
+    }
+
+    @DisplayName("필터를 끄면 DB 를 읽지 않고 모든 유저를 통과시킨다")
+    @Test
+    void givenDisabled_whenRebuilding_thenSkipsDatabase() {
+        KnownUsernames sut = new KnownUsernames(userRepository, false);
+
+        sut.rebuild();
+
+        Assertions.assertTrue(sut.mightExist("unknown"));
+        verify(userRepository, never()).findAllUsernames();
+    }
+
+}
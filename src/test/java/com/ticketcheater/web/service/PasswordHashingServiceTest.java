@@ -0,0 +1,104 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.RetryLaterException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("비즈니스 로직 - 비밀번호 해싱")
+class PasswordHashingServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private PasswordHashingService sut;
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        sut.shutdown();
+    }
+
+    @DisplayName("해싱한 비밀번호를 검증한다")
+    @Test
+    void givenPassword_whenEncodingAndMatching_thenMatches() {
+        sut = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        String encoded = sut.encode("password");
+
+        Assertions.assertTrue(sut.matches("password", encoded));
+        Assertions.assertFalse(sut.matches("other", encoded));
+    }
+
+    @DisplayName("해싱 타이머는 호출할 때마다 새로 등록하지 않는다")
+    @Test
+    void givenManyCalls_whenHashing_thenRegistersTimersOnce() {
+        sut = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 3; i++) {
+            sut.matches("password", sut.encode("password"));
+        }
+
+        Assertions.assertEquals(2, meterRegistry.find("password.hashing.time").timers().size());
+        Assertions.assertEquals(3L, meterRegistry.get("password.hashing.time").tag("operation", "encode").timer().count());
+    }
+
+    @DisplayName("대기열이 가득 차면 재시도 오류를 내뱉는다")
+    @Test
+    void givenFullQueue_whenHashing_thenThrowsRetryLater() throws Exception {
+        sut = new PasswordHashingService(blockingEncoder(), meterRegistry, 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> sut.encode("running"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> sut.encode("queued"));
+        waitForQueued();
+
+        RetryLaterException exception = Assertions.assertThrows(RetryLaterException.class, () -> sut.encode("rejected"));
+
+        Assertions.assertEquals(ErrorCode.PASSWORD_HASHING_OVERLOADED, exception.getCode());
+        unblock.countDown();
+        Assertions.assertEquals("running", running.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("해싱이 제한 시간을 넘기면 재시도 오류를 내뱉는다")
+    @Test
+    void givenSlowHashing_whenTimeout_thenThrowsRetryLater() {
+        sut = new PasswordHashingService(blockingEncoder(), meterRegistry, 1, 1, Duration.ofMillis(100));
+
+        RetryLaterException exception = Assertions.assertThrows(RetryLaterException.class, () -> sut.encode("password"));
+
+        Assertions.assertEquals(ErrorCode.PASSWORD_HASHING_OVERLOADED, exception.getCode());
+    }
+
+    private BCryptPasswordEncoder blockingEncoder() {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+        };
+    }
+
+    private void waitForQueued() throws InterruptedException {
+        for (int i = 0; i < 500 && meterRegistry.get("password.hashing.queue.size").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.entity.Game;
+import com.ticketcheater.web.entity.SeatStatus;
+import com.ticketcheater.web.entity.Section;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.repository.GameRepository;
+import com.ticketcheater.web.repository.GameSeatRepository;
+import com.ticketcheater.web.repository.SeatHoldRepository;
+import com.ticketcheater.web.repository.SectionRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("비즈니스 로직 - 좌석 선점")
+class SeatHoldServiceTest {
+
+    private static final Long GAME_ID = 1L;
+    private static final Long SECTION_ID = 10L;
+
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final SectionRepository sectionRepository = mock(SectionRepository.class);
+    private final GameSeatRepository gameSeatRepository = mock(GameSeatRepository.class);
+    private final SeatHoldRepository seatHoldRepository = mock(SeatHoldRepository.class);
+    private final LocalSeatHolds localSeatHolds = new LocalSeatHolds();
+    private final SeatInventoryService seatInventoryService = new SeatInventoryService(mock(GameService.class), gameRepository,
+            sectionRepository, gameSeatRepository, seatHoldRepository, localSeatHolds, 100, Duration.ofHours(1));
+
+    @BeforeEach
+    void setUp() {
+        Game game = Game.of(Category.BASEBALL, "title", "home", "away", "place", Timestamp.from(Instant.now()));
+        game.setId(GAME_ID);
+        Section section = Section.of("place", "A", 100);
+        section.setId(SECTION_ID);
+        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(sectionRepository.findAllByPlaceOrderById("place")).thenReturn(List.of(section));
+        when(gameSeatRepository.findAllByGameId(GAME_ID)).thenReturn(List.of());
+        when(seatHoldRepository.hold(eq(GAME_ID), eq(SECTION_ID), any(), anyString(), any())).thenReturn(0);
+    }
+
+    @DisplayName("선점한 좌석은 선점이 살아 있는 동안 이 서버에서 다른 유저에게 내주지 않는다")
+    @Test
+    void givenHeldSeats_whenOtherUserHolds_thenRejectsWithoutRedis() {
+        SeatHoldService sut = new SeatHoldService(seatInventoryService, seatHoldRepository, localSeatHolds, Duration.ofMinutes(5), 8);
+        sut.hold("username", GAME_ID, SECTION_ID, new int[]{0, 1});
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.hold("other", GAME_ID, SECTION_ID, new int[]{1}));
+
+        Assertions.assertEquals(ErrorCode.SEAT_NOT_AVAILABLE, exception.getCode());
+        Assertions.assertEquals(SeatStatus.HELD, seatInventoryService.getStatus(GAME_ID, SECTION_ID, 1));
+        verify(seatHoldRepository, never()).hold(eq(GAME_ID), eq(SECTION_ID), any(), eq("other"), any());
+    }
+
+    @DisplayName("같은 유저가 다시 선점하면 Redis 선점만 새로 건다")
+    @Test
+    void givenHeldSeats_whenSameUserHoldsAgain_thenRefreshesHold() {
+        SeatHoldService sut = new SeatHoldService(seatInventoryService, seatHoldRepository, localSeatHolds, Duration.ofMinutes(5), 8);
+        sut.hold("username", GAME_ID, SECTION_ID, new int[]{0, 1});
+
+        Assertions.assertDoesNotThrow(() -> sut.hold("username", GAME_ID, SECTION_ID, new int[]{1, 2}));
+
+        Assertions.assertEquals(97L, seatInventoryService.getInventory(GAME_ID).freeCount(SECTION_ID));
+    }
+
+    @DisplayName("선점을 풀면 좌석을 다시 비운다")
+    @Test
+    void givenHeldSeats_whenReleasing_thenFreesSeats() {
+        SeatHoldService sut = new SeatHoldService(seatInventoryService, seatHoldRepository, localSeatHolds, Duration.ofMinutes(5), 8);
+        sut.hold("username", GAME_ID, SECTION_ID, new int[]{0, 1});
+
+        sut.release("other", GAME_ID, SECTION_ID, new int[]{0, 1});
+        Assertions.assertEquals(98L, seatInventoryService.getInventory(GAME_ID).freeCount(SECTION_ID));
+
+        sut.release("username", GAME_ID, SECTION_ID, new int[]{0, 1});
+        Assertions.assertEquals(100L, seatInventoryService.getInventory(GAME_ID).freeCount(SECTION_ID));
+    }
+
+    @DisplayName("만료된 선점은 정리할 때 좌석을 다시 비운다")
+    @Test
+    void givenExpiredHold_whenSweeping_thenFreesSeats() throws InterruptedException {
+        SeatHoldService sut = new SeatHoldService(seatInventoryService, seatHoldRepository, localSeatHolds, Duration.ofMillis(1), 8);
+        sut.hold("username", GAME_ID, SECTION_ID, new int[]{0, 1});
+        Thread.sleep(5);
+
+        sut.sweepExpired();
+
+        Assertions.assertEquals(100L, seatInventoryService.getInventory(GAME_ID).freeCount(SECTION_ID));
+    }
+
+    @DisplayName("Redis 선점에 실패하면 좌석을 돌려놓는다")
+    @Test
+    void givenRedisFailure_whenHolding_thenFreesSeats() {
+        SeatHoldService sut = new SeatHoldService(seatInventoryService, seatHoldRepository, localSeatHolds, Duration.ofMinutes(5), 8);
+        when(seatHoldRepository.hold(eq(GAME_ID), eq(SECTION_ID), any(), eq("username"), any())).thenThrow(new IllegalStateException("redis"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> sut.hold("username", GAME_ID, SECTION_ID, new int[]{0, 1}));
+
+        Assertions.assertEquals(100L, seatInventoryService.getInventory(GAME_ID).freeCount(SECTION_ID));
+    }
+
+    @DisplayName("좌석 현황을 다시 불러와도 Redis 에만 있는 판매 좌석과 이 서버의 선점 좌석을 유지한다")
+    @Test
+    void givenUndrainedSaleAndLiveHold_whenReloading_thenKeepsBoth() {
+        SeatHoldService sut = new SeatHoldService(seatInventoryService, seatHoldRepository, localSeatHolds, Duration.ofMinutes(5), 8);
+        sut.hold("username", GAME_ID, SECTION_ID, new int[]{0, 1});
+        when(seatHoldRepository.findSold(GAME_ID)).thenReturn(Map.of(SECTION_ID, List.of(5)));
+
+        seatInventoryService.rebuild("admin", GAME_ID);
+
+        Assertions.assertEquals(SeatStatus.HELD, seatInventoryService.getStatus(GAME_ID, SECTION_ID, 0));
+        Assertions.assertEquals(SeatStatus.SOLD, seatInventoryService.getStatus(GAME_ID, SECTION_ID, 5));
+        Assertions.assertEquals(97L, seatInventoryService.getInventory(GAME_ID).freeCount(SECTION_ID));
+    }
+
+}
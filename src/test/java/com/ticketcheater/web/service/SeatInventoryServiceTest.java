@@ -0,0 +1,177 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.entity.Category;
+import com.ticketcheater.web.entity.Game;
+import com.ticketcheater.web.entity.GameSeat;
+import com.ticketcheater.web.entity.SeatStatus;
+import com.ticketcheater.web.entity.Section;
+import com.ticketcheater.web.entity.UserRole;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.fixture.UserFixture;
+import com.ticketcheater.web.repository.BookingStreamRepository;
+import com.ticketcheater.web.repository.GameRepository;
+import com.ticketcheater.web.repository.GameSeatRepository;
+import com.ticketcheater.web.repository.SeatHoldRepository;
+import com.ticketcheater.web.repository.SectionRepository;
+import com.ticketcheater.web.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@DisplayName("비즈니스 로직 - 좌석")
+@SpringBootTest
+class SeatInventoryServiceTest {
+
+    @Autowired
+    SeatInventoryService sut;
+
+    @Autowired
+    SeatHoldService seatHoldService;
+
+    @Autowired
+    BookingService bookingService;
+
+    @MockBean
+    GameRepository gameRepository;
+
+    @MockBean
+    SectionRepository sectionRepository;
+
+    @MockBean
+    GameSeatRepository gameSeatRepository;
+
+    @MockBean
+    SeatHoldRepository seatHoldRepository;
+
+    @MockBean
+    BookingStreamRepository bookingStreamRepository;
+
+    @MockBean
+    UserRepository userRepository;
+
+    @DisplayName("DB 에 판매된 좌석으로 좌석 현황을 복구한다")
+    @Test
+    void givenSoldSeats_whenLoading_thenRebuildsInventory() {
+        Long gameId = 1L;
+        givenGame(gameId, List.of(GameSeat.of(gameId, 10L, 3, SeatStatus.SOLD)));
+
+        Assertions.assertEquals(SeatStatus.SOLD, sut.getStatus(gameId, 10L, 3));
+        Assertions.assertEquals(99L, sut.getAvailability(gameId).get(0).freeCount());
+    }
+
+    @DisplayName("여러 좌석 중 하나라도 선점되어 있으면 아무 좌석도 선점하지 않는다")
+    @Test
+    void givenTakenSeat_whenHoldingSeats_thenHoldsNothing() {
+        Long gameId = 2L;
+        givenGame(gameId, List.of(GameSeat.of(gameId, 10L, 2, SeatStatus.SOLD)));
+
+        Assertions.assertFalse(sut.hold(gameId, 10L, new int[]{0, 1, 2, 3}));
+        Assertions.assertTrue(sut.getInventory(gameId).isFree(10L, 0));
+        Assertions.assertTrue(sut.getInventory(gameId).isFree(10L, 1));
+        Assertions.assertTrue(sut.hold(gameId, 10L, new int[]{0, 1}));
+        Assertions.assertEquals(97L, sut.getInventory(gameId).freeCount(10L));
+    }
+
+    @DisplayName("존재하지 않는 좌석을 선점할 경우 오류를 내뱉는다")
+    @Test
+    void givenUnknownSeat_whenHoldingSeats_thenThrowsError() {
+        Long gameId = 3L;
+        givenGame(gameId, List.of());
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.hold(gameId, 10L, new int[]{100}));
+
+        Assertions.assertEquals(ErrorCode.SEAT_NOT_FOUND, exception.getCode());
+    }
+
+    @DisplayName("다른 유저가 선점한 좌석이 섞여 있으면 오류를 내뱉고 좌석을 돌려놓는다")
+    @Test
+    void givenSeatHeldByOthers_whenHoldingSeats_thenThrowsErrorAndFreesSeats() {
+        Long gameId = 4L;
+        int[] seats = {0, 1};
+        givenGame(gameId, List.of());
+
+        when(seatHoldRepository.hold(eq(gameId), eq(10L), eq(seats), eq("username"), any())).thenReturn(2);
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> seatHoldService.hold("username", gameId, 10L, seats));
+
+        Assertions.assertEquals(ErrorCode.SEAT_NOT_AVAILABLE, exception.getCode());
+        Assertions.assertEquals(100L, sut.getInventory(gameId).freeCount(10L));
+    }
+
+    @DisplayName("예매가 접수되면 좌석을 판매 완료로 표시한다")
+    @Test
+    void givenHeldSeats_whenBooking_thenMarksSeatsSold() {
+        Long gameId = 5L;
+        givenGame(gameId, List.of());
+
+        when(bookingStreamRepository.book(any())).thenReturn(new BookingStreamRepository.BookResult("1-0", 0));
+
+        Assertions.assertEquals("1-0", bookingService.book("username", gameId, 10L, new int[]{0, 1}).streamId());
+        Assertions.assertEquals(SeatStatus.SOLD, sut.getStatus(gameId, 10L, 1));
+        Assertions.assertEquals(98L, sut.getInventory(gameId).freeCount(10L));
+    }
+
+    @DisplayName("선점이 만료된 좌석을 예매할 경우 오류를 내뱉는다")
+    @Test
+    void givenExpiredHold_whenBooking_thenThrowsError() {
+        Long gameId = 6L;
+        givenGame(gameId, List.of());
+
+        when(bookingStreamRepository.book(any())).thenReturn(new BookingStreamRepository.BookResult(null, 2));
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> bookingService.book("username", gameId, 10L, new int[]{0, 1}));
+
+        Assertions.assertEquals(ErrorCode.HOLD_NOT_FOUND, exception.getCode());
+        Assertions.assertEquals(100L, sut.getInventory(gameId).freeCount(10L));
+    }
+
+    @DisplayName("구역을 새로 만들면 같은 장소의 좌석 현황을 다시 불러온다")
+    @Test
+    void givenLoadedInventory_whenCreatingSection_thenReloadsWithNewSection() {
+        Long gameId = 7L;
+        givenGame(gameId, List.of());
+        Assertions.assertEquals(1, sut.getInventory(gameId).sectionCount());
+
+        Section added = Section.of("place", "B", 50);
+        added.setId(11L);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(UserFixture.get(UserRole.ADMIN)));
+        when(sectionRepository.save(any())).thenReturn(added);
+        when(sectionRepository.findAllByPlaceOrderById("place")).thenReturn(List.of(section(), added));
+
+        sut.createSection("admin", "place", "B", 50);
+
+        Assertions.assertEquals(2, sut.getInventory(gameId).sectionCount());
+        Assertions.assertEquals(50L, sut.getInventory(gameId).freeCount(11L));
+    }
+
+    private void givenGame(Long gameId, List<GameSeat> seats) {
+        Game game = Game.of(Category.BASEBALL, "title", "home", "away", "place", Timestamp.from(Instant.now()));
+        game.setId(gameId);
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(game));
+        when(sectionRepository.findAllByPlaceOrderById("place")).thenReturn(List.of(section()));
+        when(gameSeatRepository.findAllByGameId(gameId)).thenReturn(seats);
+    }
+
+    private Section section() {
+        Section section = Section.of("place", "A", 100);
+        section.setId(10L);
+        return section;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.ticketcheater.web.service;
 
 import com.ticketcheater.web.config.TestContainerConfig;
+import com.ticketcheater.web.dto.UserDTO;
 import com.ticketcheater.web.exception.ErrorCode;
 import com.ticketcheater.web.exception.TicketApplicationException;
 import com.ticketcheater.web.fixture.UserFixture;
@@ -15,10 +16,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.*;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @DisplayName("비즈니스 로직 - 회원")
 @ExtendWith(TestContainerConfig.class)
@@ -92,7 +96,7 @@ class UserServiceTest {
                 )));
         when(bCryptPasswordEncoder.matches(password, "password")).thenReturn(true);
 
-        Assertions.assertDoesNotThrow(() -> sut.login(username, password));
+        Assertions.assertDoesNotThrow(() -> sut.login(username, password, null));
     }
 
     @DisplayName("존재하지 않는 유저가 로그인할 경우 오류를 내뱉는다")
@@ -105,7 +109,7 @@ class UserServiceTest {
         when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
         TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
-                () -> sut.login(username, password));
+                () -> sut.login(username, password, null));
 
         Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, exception.getCode());
     }
@@ -129,9 +133,71 @@ class UserServiceTest {
         when(bCryptPasswordEncoder.matches(password, wrongPassword)).thenReturn(false);
 
         TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
-                () -> sut.login(username, password));
+                () -> sut.login(username, password, null));
 
         Assertions.assertEquals(ErrorCode.INVALID_PASSWORD, exception.getCode());
     }
 
+    @DisplayName("캐시에 없는 유저를 동시에 조회하면 DB 조회와 캐시 저장은 한 번만 일어난다")
+    @Test
+    void givenConcurrentCacheMisses_whenLoadingUser_thenQueriesDatabaseOnce() throws Exception {
+        String username = "username";
+        int threads = 16;
+        CountDownLatch ready = new CountDownLatch(threads);
+
+        when(userCacheRepository.getUser(username)).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(username)).thenAnswer(invocation -> {
+            ready.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            return Optional.of(UserFixture.get(username, "password", "email", "nickname"));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<UserDTO>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                return sut.loadUserByUsername(username);
+            }));
+        }
+        for (Future<UserDTO> result : results) {
+            Assertions.assertEquals(username, result.get(10, TimeUnit.SECONDS).getUsername());
+        }
+        executor.shutdown();
+
+        verify(userRepository, times(1)).findByUsername(username);
+        verify(userCacheRepository, times(1)).setUser(any());
+    }
+
+    @DisplayName("DB 에 없는 유저를 조회하면 없는 유저로 캐시한다")
+    @Test
+    void givenUnknownUser_whenLoadingUser_thenCachesMissingUser() {
+        String username = "unknown";
+
+        when(userCacheRepository.getUser(username)).thenReturn(Optional.empty());
+        when(userCacheRepository.isMissing(username)).thenReturn(false);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.loadUserByUsername(username));
+
+        Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, exception.getCode());
+        verify(userCacheRepository).setMissing(username);
+    }
+
+    @DisplayName("없는 유저로 캐시된 유저를 조회하면 DB 를 조회하지 않는다")
+    @Test
+    void givenMissingUser_whenLoadingUser_thenSkipsDatabase() {
+        String username = "missing";
+
+        when(userCacheRepository.getUser(username)).thenReturn(Optional.empty());
+        when(userCacheRepository.isMissing(username)).thenReturn(true);
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.loadUserByUsername(username));
+
+        Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, exception.getCode());
+        verify(userRepository, never()).findByUsername(username);
+    }
+
 }
@@ -0,0 +1,94 @@
+package com.ticketcheater.web.service;
+
+import com.ticketcheater.web.dto.WaitingRoomDTO;
+import com.ticketcheater.web.exception.ErrorCode;
+import com.ticketcheater.web.exception.TicketApplicationException;
+import com.ticketcheater.web.jwt.AdmissionTokenProvider;
+import com.ticketcheater.web.repository.GameRepository;
+import com.ticketcheater.web.repository.WaitingRoomRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("비즈니스 로직 - 대기열")
+@SpringBootTest
+class WaitingRoomServiceTest {
+
+    @Autowired
+    WaitingRoomService sut;
+
+    @MockBean
+    WaitingRoomRepository waitingRoomRepository;
+
+    @DisplayName("열리지 않은 대기열에 들어갈 경우 오류를 내뱉는다")
+    @Test
+    void givenClosedWaitingRoom_whenEntering_thenThrowsError() {
+        when(waitingRoomRepository.getActiveGameIds()).thenReturn(Set.of());
+        sut.refresh();
+
+        TicketApplicationException exception = Assertions.assertThrows(TicketApplicationException.class,
+                () -> sut.enter("username", 1L));
+
+        Assertions.assertEquals(ErrorCode.WAITING_ROOM_NOT_FOUND, exception.getCode());
+    }
+
+    @DisplayName("대기 순번은 캐시된 입장 현황으로 계산하고 차례가 되면 입장권을 발급한다")
+    @Test
+    void givenSnapshot_whenPolling_thenAnswersWithoutRedis() {
+        when(waitingRoomRepository.getActiveGameIds()).thenReturn(Set.of("1"));
+        when(waitingRoomRepository.admit(1L)).thenReturn(Optional.of(new WaitingRoomRepository.Admission(10, 30, 5)));
+        when(waitingRoomRepository.enter(1L, "username")).thenReturn(25L);
+        sut.refresh();
+
+        WaitingRoomDTO waiting = sut.enter("username", 1L);
+        WaitingRoomDTO polled = sut.poll("username", waiting.queueToken());
+
+        Assertions.assertEquals(15, polled.position());
+        Assertions.assertFalse(polled.isAdmitted());
+        verify(waitingRoomRepository, times(1)).enter(1L, "username");
+
+        when(waitingRoomRepository.admit(1L)).thenReturn(Optional.of(new WaitingRoomRepository.Admission(25, 30, 5)));
+        sut.refresh();
+
+        WaitingRoomDTO admitted = sut.poll("username", waiting.queueToken());
+        Assertions.assertTrue(admitted.isAdmitted());
+        Assertions.assertTrue(sut.isAdmitted("username", 1L, admitted.admissionToken()));
+        Assertions.assertFalse(sut.isAdmitted("username", 1L, null));
+    }
+
+    @DisplayName("첫 입장 현황을 불러오기 전에 Redis 를 쓸 수 없으면 입장을 거절한다")
+    @Test
+    void givenNoSnapshotAndRedisDown_whenCheckingAdmission_thenRejects() {
+        WaitingRoomRepository repository = mock(WaitingRoomRepository.class);
+        WaitingRoomService service = new WaitingRoomService(mock(GameService.class), mock(GameRepository.class),
+                repository, mock(AdmissionTokenProvider.class));
+        when(repository.getActiveGameIds()).thenThrow(new RedisConnectionFailureException("down"));
+        when(repository.isActive(1L)).thenThrow(new RedisConnectionFailureException("down"));
+        service.refresh();
+
+        Assertions.assertFalse(service.isAdmitted("username", 1L, null));
+    }
+
+    @DisplayName("첫 입장 현황을 불러오기 전에는 열린 대기열 목록을 직접 확인한다")
+    @Test
+    void givenNoSnapshot_whenCheckingAdmission_thenAsksActiveSet() {
+        WaitingRoomRepository repository = mock(WaitingRoomRepository.class);
+        WaitingRoomService service = new WaitingRoomService(mock(GameService.class), mock(GameRepository.class),
+                repository, mock(AdmissionTokenProvider.class));
+        when(repository.isActive(1L)).thenReturn(true);
+        when(repository.isActive(2L)).thenReturn(false);
+
+        Assertions.assertFalse(service.isAdmitted("username", 1L, null));
+        Assertions.assertTrue(service.isAdmitted("username", 2L, null));
+    }
+
+}